@@ -1,5 +1,7 @@
 package com.mylearning.productaggregatorservice.config;
 
+import com.mylearning.productaggregatorservice.deadline.DeadlineExchangeFilter;
+import org.springframework.boot.web.reactive.function.client.WebClientCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.reactive.function.client.WebClient;
@@ -10,4 +12,10 @@ public class WebClientConfig {
     public WebClient webClient(WebClient.Builder builder) {
         return builder.build();
     }
+
+    /** Applied to every WebClient.Builder, so all downstream calls carry the request deadline. */
+    @Bean
+    public WebClientCustomizer deadlineWebClientCustomizer(DeadlineExchangeFilter deadlineExchangeFilter) {
+        return builder -> builder.filter(deadlineExchangeFilter);
+    }
 }
@@ -1,11 +1,17 @@
 package com.mylearning.productaggregatorservice.controller;
 
+import com.mylearning.productaggregatorservice.dto.PriceChangeEvent;
 import com.mylearning.productaggregatorservice.dto.ProductDto;
+import com.mylearning.productaggregatorservice.dto.QuoteRequest;
+import com.mylearning.productaggregatorservice.dto.QuoteResponse;
+import com.mylearning.productaggregatorservice.service.PriceStreamService;
 import com.mylearning.productaggregatorservice.service.ProductAggregatorService;
 import com.mylearning.productaggregatorservice.dto.ApiResponse;
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
@@ -23,6 +29,7 @@ import java.util.List;
 public class ProductAggregatorController {
 
     private final ProductAggregatorService productAggregatorService;
+    private final PriceStreamService priceStreamService;
 
     /** GET /api/aggregator/products – every product (wrapped) */
     @GetMapping
@@ -67,6 +74,24 @@ public class ProductAggregatorController {
                         id, resp.getStatusCode()));
     }
 
+    /** POST /api/aggregator/products/quote – prices a whole cart in one downstream call */
+    @PostMapping("/quote")
+    public Mono<ResponseEntity<ApiResponse<QuoteResponse>>> getQuote(@Valid @RequestBody QuoteRequest request) {
+        log.info("Request: quote for {} lines", request.getLines().size());
+
+        return productAggregatorService.getQuote(request)
+                .map(this::buildSuccess)
+                .map(ResponseEntity::ok);
+    }
+
+    /** GET /api/aggregator/products/prices/stream – live price changes (NDJSON or SSE) */
+    @GetMapping(value = "/prices/stream",
+            produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    public Flux<PriceChangeEvent> streamPriceChanges() {
+        log.info("Request: price change stream");
+        return priceStreamService.priceChanges();
+    }
+
 
     private <T> ApiResponse<T> buildSuccess(T data) {
         return ApiResponse.<T>builder()
@@ -0,0 +1,26 @@
+package com.mylearning.productaggregatorservice.deadline;
+
+import java.time.Duration;
+
+/**
+ * Absolute point in (monotonic) time by which the current request must complete.
+ * Lives in the Reactor context so every downstream call can see how much budget is left.
+ */
+public record Deadline(long expiresAtNanos) {
+
+    public static Deadline after(Duration budget) {
+        return new Deadline(System.nanoTime() + budget.toNanos());
+    }
+
+    public Duration remaining() {
+        return Duration.ofNanos(expiresAtNanos - System.nanoTime());
+    }
+
+    public long remainingMillis() {
+        return remaining().toMillis();
+    }
+
+    public boolean isExpired() {
+        return expiresAtNanos - System.nanoTime() <= 0;
+    }
+}
@@ -0,0 +1,59 @@
+package com.mylearning.productaggregatorservice.deadline;
+
+import com.mylearning.productaggregatorservice.exception.DeadlineExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+/**
+ * Forwards the remaining budget of the current {@link Deadline} on every outgoing call.
+ * Runs per attempt, so retries carry a shrinking budget, and refuses to start a call
+ * once nothing is left. A 504 back from a call that carried a budget means that budget
+ * ran out downstream; it becomes a {@link DeadlineExceededException} here, before the
+ * replica's breaker and outlier ejection see it, so short client deadlines cannot eject
+ * healthy replicas.
+ */
+@Component
+public class DeadlineExchangeFilter implements ExchangeFilterFunction {
+
+    private static final String TIER = "aggregator";
+
+    private final Counter expiredBeforeCall;
+
+    public DeadlineExchangeFilter(MeterRegistry meterRegistry) {
+        this.expiredBeforeCall = Counter.builder(DeadlineWebFilter.METRIC)
+                .tag("tier", TIER)
+                .tag("reason", "downstream")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        return Mono.deferContextual(ctx -> {
+            Deadline deadline = ctx.getOrDefault(Deadline.class, null);
+            if (deadline == null) {
+                return next.exchange(request);
+            }
+
+            long remaining = deadline.remainingMillis();
+            if (remaining <= 0) {
+                expiredBeforeCall.increment();
+                return Mono.error(new DeadlineExceededException("Deadline exceeded before calling " + request.url()));
+            }
+
+            ClientRequest withBudget = ClientRequest.from(request)
+                    .headers(headers -> headers.set(DeadlineWebFilter.HEADER, Long.toString(remaining)))
+                    .build();
+            return next.exchange(withBudget)
+                    .flatMap(response -> response.statusCode().value() == 504
+                            ? response.releaseBody().then(Mono.<ClientResponse>error(
+                                    new DeadlineExceededException("Deadline exceeded downstream at " + request.url())))
+                            : Mono.just(response));
+        });
+    }
+}
@@ -0,0 +1,18 @@
+package com.mylearning.productaggregatorservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class CatalogChangesDto {
+    private String instanceId;
+    private long catalogVersion;
+    private long watermark;
+    private boolean complete;
+    private List<ProductDto> products;
+}
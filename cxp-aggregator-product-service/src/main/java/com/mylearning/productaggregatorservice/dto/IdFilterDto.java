@@ -0,0 +1,16 @@
+package com.mylearning.productaggregatorservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class IdFilterDto {
+    private long version;
+    private int size;
+    private int bitCount;
+    private int hashCount;
+    private byte[] bits;
+}
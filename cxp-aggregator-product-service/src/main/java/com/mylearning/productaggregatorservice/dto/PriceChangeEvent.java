@@ -0,0 +1,17 @@
+package com.mylearning.productaggregatorservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/** A price change; from the domain, an event without an id is the heartbeat that opens the stream. */
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class PriceChangeEvent {
+    private String id;
+    private double price;
+    private Instant changedAt;
+}
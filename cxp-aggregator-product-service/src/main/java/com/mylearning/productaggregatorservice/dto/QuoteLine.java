@@ -0,0 +1,18 @@
+package com.mylearning.productaggregatorservice.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class QuoteLine {
+    @NotBlank(message = "Product ID must not be blank")
+    private String id;
+
+    @Positive(message = "Quantity must be positive")
+    private int quantity;
+}
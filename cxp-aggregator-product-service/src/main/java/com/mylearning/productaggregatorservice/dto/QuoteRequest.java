@@ -0,0 +1,22 @@
+package com.mylearning.productaggregatorservice.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class QuoteRequest {
+    /** Largest cart priced in one call; the domain prices a cart in one pass on the event loop. */
+    public static final int MAX_LINES = 1000;
+
+    @NotEmpty(message = "Quote must contain at least one line")
+    @Size(max = MAX_LINES, message = "Quote must contain at most " + MAX_LINES + " lines")
+    private List<@Valid QuoteLine> lines;
+}
@@ -0,0 +1,15 @@
+package com.mylearning.productaggregatorservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class QuoteResponse {
+    private List<QuoteLineResult> lines;
+    private double total;
+}
@@ -0,0 +1,14 @@
+package com.mylearning.productaggregatorservice.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Raised when the request budget is used up. Expected under load, so no stack trace is captured.
+ */
+@ResponseStatus(HttpStatus.GATEWAY_TIMEOUT)
+public class DeadlineExceededException extends RuntimeException {
+    public DeadlineExceededException(String message) {
+        super(message, null, false, false);
+    }
+}
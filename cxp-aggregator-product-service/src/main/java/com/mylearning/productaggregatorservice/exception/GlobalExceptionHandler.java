@@ -11,6 +11,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
 
 import java.time.Instant;
 import java.util.List;
@@ -39,6 +40,23 @@ public class GlobalExceptionHandler {
     }
 
 
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<ApiResponse<Object>> handleWebExchangeBind(WebExchangeBindException ex) {
+        log.warn("Request body validation failed: {}", ex.getMessage());
+
+        List<FieldValidationError> fieldErrors = ex.getFieldErrors()
+                .stream()
+                .map(err -> new FieldValidationError(
+                        err.getField(),
+                        String.valueOf(err.getRejectedValue()),
+                        err.getDefaultMessage()))
+                .collect(Collectors.toList());
+
+        ApiError<Object> apiError = new ApiError<>("VALIDATION_ERROR", "Invalid input", fieldErrors);
+        return buildErrorResponse(apiError, HttpStatus.BAD_REQUEST);
+    }
+
+
     @ExceptionHandler(ConstraintViolationException.class)
     public ResponseEntity<ApiResponse<Object>> handleConstraintViolation(ConstraintViolationException ex) {
         log.warn("Constraint violation: {}", ex.getMessage());
@@ -61,6 +79,30 @@ public class GlobalExceptionHandler {
     }
 
 
+    @ExceptionHandler(ProductNotFoundException.class)
+    public ResponseEntity<ApiResponse<Object>> handleProductNotFound(ProductNotFoundException ex) {
+        log.debug("Not found: {}", ex.getMessage());
+        ApiError<Object> apiError = new ApiError<>("NOT_FOUND", ex.getMessage(), null);
+        return buildErrorResponse(apiError, HttpStatus.NOT_FOUND);
+    }
+
+
+    @ExceptionHandler(InvalidQuoteException.class)
+    public ResponseEntity<ApiResponse<Object>> handleInvalidQuote(InvalidQuoteException ex) {
+        log.warn("Invalid quote: {}", ex.getMessage());
+        ApiError<Object> apiError = new ApiError<>("INVALID_QUOTE", ex.getMessage(), null);
+        return buildErrorResponse(apiError, HttpStatus.BAD_REQUEST);
+    }
+
+
+    @ExceptionHandler(DeadlineExceededException.class)
+    public ResponseEntity<ApiResponse<Object>> handleDeadlineExceeded(DeadlineExceededException ex) {
+        log.warn("Deadline exceeded: {}", ex.getMessage());
+        ApiError<Object> apiError = new ApiError<>("DEADLINE_EXCEEDED", ex.getMessage(), null);
+        return buildErrorResponse(apiError, HttpStatus.GATEWAY_TIMEOUT);
+    }
+
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ApiResponse<Object>> handleGeneric(Exception ex) {
         log.error("Unexpected error: {}", ex.getMessage(), ex);
@@ -0,0 +1,15 @@
+package com.mylearning.productaggregatorservice.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * The domain refused a quote as invalid (a 4xx other than 404). The caller's fault, so breakers
+ * ignore it and it never counts against a replica.
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidQuoteException extends RuntimeException {
+    public InvalidQuoteException(String message) {
+        super(message, null, false, false);
+    }
+}
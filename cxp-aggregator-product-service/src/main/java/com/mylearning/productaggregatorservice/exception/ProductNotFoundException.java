@@ -0,0 +1,19 @@
+package com.mylearning.productaggregatorservice.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * A definite miss, either from the local id filter or a 404 from the domain service.
+ * Routine for scraper traffic, so no stack trace is captured.
+ */
+@ResponseStatus(HttpStatus.NOT_FOUND)
+public class ProductNotFoundException extends RuntimeException {
+    public ProductNotFoundException(String message) {
+        super(message, null, false, false);
+    }
+
+    public static ProductNotFoundException forId(String id) {
+        return new ProductNotFoundException("Product with ID " + id + " not found.");
+    }
+}
@@ -0,0 +1,37 @@
+package com.mylearning.productaggregatorservice.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.mylearning.productaggregatorservice.dto.ApiResponse;
+
+import java.io.IOException;
+
+/** Same JSON as the reflective bean serializer, in the same field order, with pre-encoded names. */
+public class ApiResponseSerializer extends StdSerializer<ApiResponse<?>> {
+
+    private static final SerializedString API_SUCCESS = new SerializedString("apiSuccess");
+    private static final SerializedString TIME_STAMP = new SerializedString("timeStamp");
+
+    public ApiResponseSerializer() {
+        super(ApiResponse.class, false);
+    }
+
+    @Override
+    public void serialize(ApiResponse<?> value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject(value);
+        gen.writeFieldName(API_SUCCESS);
+        gen.writeBoolean(value.isApiSuccess());
+        gen.writeFieldName(TIME_STAMP);
+        if (provider.isEnabled(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)) {
+            provider.defaultSerializeValue(value.getTimeStamp(), gen);
+        } else {
+            IsoInstants.write(value.getTimeStamp(), gen);
+        }
+        provider.defaultSerializeField("data", value.getData(), gen);
+        provider.defaultSerializeField("errors", value.getErrors(), gen);
+        gen.writeEndObject();
+    }
+}
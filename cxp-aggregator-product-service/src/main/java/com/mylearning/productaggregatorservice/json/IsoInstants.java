@@ -0,0 +1,64 @@
+package com.mylearning.productaggregatorservice.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Writes an Instant exactly as Jackson's InstantSerializer does (ISO-8601, fraction in groups of
+ * three digits, omitted when zero). The date-time part is formatted once per second and the
+ * result is assembled in a per-thread buffer, so no String is created per timestamp.
+ */
+final class IsoInstants {
+
+    private record Second(long epochSecond, char[] prefix) {
+    }
+
+    private static final ThreadLocal<char[]> BUFFER = ThreadLocal.withInitial(() -> new char[64]);
+    private static volatile Second cached = new Second(Long.MIN_VALUE, new char[0]);
+
+    private IsoInstants() {
+    }
+
+    static void write(Instant instant, JsonGenerator gen) throws IOException {
+        if (instant == null) {
+            gen.writeNull();
+            return;
+        }
+        Second second = cached;
+        if (second.epochSecond() != instant.getEpochSecond()) {
+            String formatted = DateTimeFormatter.ISO_INSTANT.format(Instant.ofEpochSecond(instant.getEpochSecond()));
+            second = new Second(instant.getEpochSecond(), formatted.substring(0, formatted.length() - 1).toCharArray());
+            cached = second;
+        }
+
+        char[] buf = BUFFER.get();
+        int len = second.prefix().length;
+        System.arraycopy(second.prefix(), 0, buf, 0, len);
+        int nanos = instant.getNano();
+        if (nanos != 0) {
+            int digits;
+            int value;
+            if (nanos % 1_000_000 == 0) {
+                digits = 3;
+                value = nanos / 1_000_000;
+            } else if (nanos % 1_000 == 0) {
+                digits = 6;
+                value = nanos / 1_000;
+            } else {
+                digits = 9;
+                value = nanos;
+            }
+            buf[len++] = '.';
+            for (int i = len + digits - 1; i >= len; i--) {
+                buf[i] = (char) ('0' + value % 10);
+                value /= 10;
+            }
+            len += digits;
+        }
+        buf[len++] = 'Z';
+        gen.writeString(buf, 0, len);
+    }
+}
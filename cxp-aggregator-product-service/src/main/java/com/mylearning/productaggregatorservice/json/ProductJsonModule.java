@@ -0,0 +1,20 @@
+package com.mylearning.productaggregatorservice.json;
+
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.mylearning.productaggregatorservice.dto.ProductDto;
+import org.springframework.stereotype.Component;
+
+/**
+ * Hand-written codecs for the hottest types. Boot registers every Module bean with its
+ * ObjectMapper, so these apply to the WebFlux codecs and to WebClient alike.
+ */
+@Component
+public class ProductJsonModule extends SimpleModule {
+
+    public ProductJsonModule() {
+        super("product-json");
+        addSerializer(new ApiResponseSerializer());
+        addSerializer(new ProductDtoSerializer());
+        addDeserializer(ProductDto.class, new ProductDtoDeserializer());
+    }
+}
@@ -0,0 +1,109 @@
+package com.mylearning.productaggregatorservice.lookup;
+
+import com.mylearning.productaggregatorservice.dto.IdFilterDto;
+import com.mylearning.productaggregatorservice.shard.DomainShards;
+import com.mylearning.productcommon.lookup.BloomFilter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Local copy of each shard's id filter, refreshed periodically, so requests for ids the
+ * catalog certainly does not contain are answered without a network hop. Until a shard's
+ * filter has loaded, every id on that shard is treated as possibly known.
+ */
+@Component
+@Slf4j
+public class KnownProductIds {
+
+    private final DomainShards shards;
+    private final boolean enabled;
+    private final Duration refreshInterval;
+    /* Filter and version are swapped in together, so a reader never pairs one filter with another's version. */
+    private final AtomicReferenceArray<Installed> filters;
+    private final Counter definiteMisses;
+    private Disposable refresher;
+
+    public KnownProductIds(DomainShards shards,
+                           @Value("${product.id-filter.enabled:true}") boolean enabled,
+                           @Value("${product.id-filter.refresh-interval:60s}") Duration refreshInterval,
+                           MeterRegistry meterRegistry) {
+        this.shards = shards;
+        this.enabled = enabled;
+        this.refreshInterval = refreshInterval;
+        this.filters = new AtomicReferenceArray<>(shards.count());
+        this.definiteMisses = Counter.builder("product.id-filter.definite-misses").register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            log.info("Id filter disabled");
+            return;
+        }
+        refresher = Flux.interval(Duration.ZERO, refreshInterval)
+                .concatMap(tick -> refreshAll())
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (refresher != null) {
+            refresher.dispose();
+        }
+    }
+
+    /** True only when the owning shard's filter is loaded and says the id is absent. */
+    public boolean isDefinitelyUnknown(String id) {
+        Installed installed = filters.get(shards.ownerOf(id));
+        if (installed == null || installed.filter().mightContain(id)) {
+            return false;
+        }
+        definiteMisses.increment();
+        return true;
+    }
+
+    /** Fetches every shard's filter once; failures leave that shard's previous filter (or none) in place. */
+    public Mono<Void> refreshAll() {
+        if (!enabled) {
+            return Mono.empty();
+        }
+        return Flux.range(0, shards.count())
+                .flatMap(shard -> shards.pool(shard)
+                        .execute(client -> client.get()
+                                .uri("/ids/filter")
+                                .retrieve()
+                                .bodyToMono(IdFilterDto.class))
+                        .doOnNext(dto -> install(shard, dto))
+                        .onErrorResume(ex -> {
+                            log.warn("Could not refresh id filter for shard {}: {}", shard, ex.getMessage());
+                            return Mono.empty();
+                        }))
+                .then();
+    }
+
+    private void install(int shard, IdFilterDto dto) {
+        Installed current = filters.get(shard);
+        if (current != null && current.version() == dto.getVersion()) {
+            return;
+        }
+        filters.set(shard, new Installed(
+                BloomFilter.fromBytes(dto.getBits(), dto.getBitCount(), dto.getHashCount()), dto.getVersion()));
+        log.info("Installed id filter v{} for shard {} ({} ids, {} bytes)",
+                dto.getVersion(), shard, dto.getSize(), dto.getBits().length);
+    }
+
+    private record Installed(BloomFilter filter, long version) {
+    }
+}
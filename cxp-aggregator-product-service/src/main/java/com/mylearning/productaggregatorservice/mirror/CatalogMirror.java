@@ -0,0 +1,248 @@
+package com.mylearning.productaggregatorservice.mirror;
+
+import com.mylearning.productaggregatorservice.dto.CatalogChangesDto;
+import com.mylearning.productaggregatorservice.dto.ProductDto;
+import com.mylearning.productaggregatorservice.shard.DomainShards;
+import com.mylearning.productaggregatorservice.shard.Replica;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Optional full local copy of the catalog ({@code product.mirror.enabled}). Each shard is copied
+ * from one of its replicas with a full {@code getAllProducts} read, then kept current by pulling
+ * only the products changed since the last watermark, every {@code refresh-interval}. While a
+ * shard's copy is fresher than {@code max-staleness}, reads for its ids (hits and misses alike)
+ * are answered from memory; otherwise they go to the domain as usual.
+ */
+@Component
+@Slf4j
+public class CatalogMirror {
+
+    /* Rough retained size of one mirrored product besides its strings: map node, table slot, DTO. */
+    private static final long ENTRY_OVERHEAD_BYTES = 32 + 8 + 32;
+    /* String object plus its byte[] header, with compressed oops and Latin-1 compact strings. */
+    private static final long STRING_OVERHEAD_BYTES = 24 + 16;
+
+    private final DomainShards shards;
+    private final boolean enabled;
+    private final Duration refreshInterval;
+    private final long maxStalenessNanos;
+    private final ShardCopy[] copies;
+    private final Counter localReads;
+    private final Counter remoteReads;
+    private Disposable refresher;
+
+    public CatalogMirror(DomainShards shards,
+                         @Value("${product.mirror.enabled:false}") boolean enabled,
+                         @Value("${product.mirror.refresh-interval:1s}") Duration refreshInterval,
+                         @Value("${product.mirror.max-staleness:10s}") Duration maxStaleness,
+                         MeterRegistry meterRegistry) {
+        this.shards = shards;
+        this.enabled = enabled;
+        this.refreshInterval = refreshInterval;
+        this.maxStalenessNanos = maxStaleness.toNanos();
+        this.copies = new ShardCopy[shards.count()];
+        for (int shard = 0; shard < copies.length; shard++) {
+            ShardCopy copy = new ShardCopy();
+            copies[shard] = copy;
+            TimeGauge.builder("product.mirror.staleness", copy, TimeUnit.NANOSECONDS,
+                            c -> c.products != null ? c.ageNanos() : Double.NaN)
+                    .description("Time since the shard's copy was last brought up to date; an upper bound on replication lag")
+                    .tag("shard", Integer.toString(shard))
+                    .register(meterRegistry);
+        }
+        Gauge.builder("product.mirror.products", this, CatalogMirror::size)
+                .description("Products held in the local catalog copy")
+                .register(meterRegistry);
+        Gauge.builder("product.mirror.memory", this, CatalogMirror::estimatedBytes)
+                .description("Estimated heap retained by the local catalog copy")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        this.localReads = Counter.builder("product.mirror.reads").tag("served", "local").register(meterRegistry);
+        this.remoteReads = Counter.builder("product.mirror.reads").tag("served", "remote").register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            log.info("Catalog mirror disabled");
+            return;
+        }
+        refresher = Flux.interval(refreshInterval, refreshInterval)
+                .onBackpressureDrop()
+                .concatMap(tick -> refreshAll())
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (refresher != null) {
+            refresher.dispose();
+        }
+    }
+
+    /** True if the id's shard is mirrored and fresh, so {@link #get} is the answer, including null for "no such product". */
+    public boolean serves(String id) {
+        if (!enabled) {
+            return false;
+        }
+        boolean fresh = copies[shards.ownerOf(id)].ageNanos() < maxStalenessNanos;
+        (fresh ? localReads : remoteReads).increment();
+        return fresh;
+    }
+
+    public ProductDto get(String id) {
+        Map<String, ProductDto> products = copies[shards.ownerOf(id)].products;
+        return products != null ? products.get(id) : null;
+    }
+
+    /** Brings every shard's copy up to date once; a shard that cannot be reached keeps its previous copy. */
+    public Mono<Void> refreshAll() {
+        if (!enabled) {
+            return Mono.empty();
+        }
+        return Flux.range(0, copies.length)
+                .flatMap(this::refresh)
+                .then();
+    }
+
+    private Mono<Void> refresh(int shard) {
+        ShardCopy copy = copies[shard];
+        List<Replica> replicas = shards.pool(shard).replicas();
+        Replica source = replicas.get(copy.sourceIndex % replicas.size());
+        Mono<Void> sync = copy.products == null || copy.instanceId == null
+                ? copyAll(copy, source.client())
+                : pullChanges(copy, source.client());
+        return sync.onErrorResume(ex -> {
+            log.warn("Could not refresh catalog mirror of shard {} from {}: {}", shard, source.baseUrl(), ex.getMessage());
+            // Changes are numbered per instance, so moving to another replica means copying it in full.
+            // Until then the old copy keeps serving reads for as long as it is within max-staleness.
+            copy.sourceIndex++;
+            copy.instanceId = null;
+            return Mono.empty();
+        });
+    }
+
+    private Mono<Void> copyAll(ShardCopy copy, WebClient client) {
+        long start = System.nanoTime();
+        return client.get()
+                .uri("/changes/watermark")
+                .retrieve()
+                .bodyToMono(CatalogChangesDto.class)
+                // Changes made while the copy streams in are pulled again next time; applying them twice is harmless.
+                .flatMap(mark -> client.get()
+                        .uri("")
+                        .retrieve()
+                        .bodyToFlux(ProductDto.class)
+                        .collect(ConcurrentHashMap<String, ProductDto>::new, (map, product) -> map.put(product.getId(), product))
+                        .doOnNext(products -> {
+                            copy.install(mark, products, start);
+                            log.info("Mirrored {} products from {} (catalog v{}, watermark {})",
+                                    products.size(), mark.getInstanceId(), mark.getCatalogVersion(), mark.getWatermark());
+                        }))
+                .then();
+    }
+
+    private Mono<Void> pullChanges(ShardCopy copy, WebClient client) {
+        long start = System.nanoTime();
+        return client.get()
+                .uri(uri -> uri.path("/changes")
+                        .queryParam("instanceId", copy.instanceId)
+                        .queryParam("catalogVersion", copy.catalogVersion)
+                        .queryParam("since", copy.watermark)
+                        .build())
+                .retrieve()
+                .bodyToMono(CatalogChangesDto.class)
+                .flatMap(changes -> {
+                    if (!changes.isComplete()) {
+                        log.info("Domain cannot list changes since watermark {}; copying the catalog again", copy.watermark);
+                        return copyAll(copy, client);
+                    }
+                    copy.apply(changes, start);
+                    return Mono.empty();
+                });
+    }
+
+    public int size() {
+        int size = 0;
+        for (ShardCopy copy : copies) {
+            Map<String, ProductDto> products = copy.products;
+            size += products != null ? products.size() : 0;
+        }
+        return size;
+    }
+
+    public long estimatedBytes() {
+        long bytes = 0;
+        for (ShardCopy copy : copies) {
+            Map<String, ProductDto> products = copy.products;
+            if (products != null) {
+                for (ProductDto product : products.values()) {
+                    bytes += estimatedBytes(product);
+                }
+            }
+        }
+        return bytes;
+    }
+
+    private static long estimatedBytes(ProductDto product) {
+        return ENTRY_OVERHEAD_BYTES
+                + stringBytes(product.getId())
+                + stringBytes(product.getName())
+                + stringBytes(product.getDescription());
+    }
+
+    private static long stringBytes(String value) {
+        return value == null ? 0 : STRING_OVERHEAD_BYTES + value.length();
+    }
+
+    /* One shard's copy. Only the refresh loop writes; request threads read the volatile map and sync time. */
+    private static final class ShardCopy {
+        volatile Map<String, ProductDto> products;
+        volatile long syncedAtNanos;
+        String instanceId;
+        long catalogVersion;
+        long watermark;
+        int sourceIndex;
+
+        void install(CatalogChangesDto mark, Map<String, ProductDto> copied, long startedAtNanos) {
+            instanceId = mark.getInstanceId();
+            catalogVersion = mark.getCatalogVersion();
+            watermark = mark.getWatermark();
+            syncedAtNanos = startedAtNanos;
+            products = copied;
+        }
+
+        void apply(CatalogChangesDto changes, long startedAtNanos) {
+            Map<String, ProductDto> current = products;
+            for (ProductDto product : changes.getProducts()) {
+                current.put(product.getId(), product);
+            }
+            watermark = changes.getWatermark();
+            syncedAtNanos = startedAtNanos;
+        }
+
+        /* Measured from when the sync request went out, since changes after that may be missing. */
+        long ageNanos() {
+            return products != null ? System.nanoTime() - syncedAtNanos : Long.MAX_VALUE;
+        }
+    }
+}
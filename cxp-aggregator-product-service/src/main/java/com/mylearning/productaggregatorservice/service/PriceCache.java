@@ -0,0 +1,105 @@
+package com.mylearning.productaggregatorservice.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Local price state. Entries are written by successful downstream reads and kept
+ * current by {@link PriceStreamService}, so the TTL only bounds how long we trust
+ * a price if the change stream is interrupted.
+ * <p>
+ * Every write takes the next sequence number. A downstream read takes a {@link #stamp()}
+ * before it goes out and is only applied if nothing newer was written for that id since,
+ * so a slow read can never replace a price the stream has already moved past. While any
+ * change stream is down the cache is bypassed, and reads that started before it came back
+ * are discarded.
+ */
+@Component
+public class PriceCache {
+
+    private record Entry(double price, long sequence, long expiresAtNanos) {}
+
+    private final Map<String, Entry> prices = new ConcurrentHashMap<>();
+    private final long ttlNanos;
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicInteger suspended = new AtomicInteger();
+    /* Reads stamped before this sequence are older than the last disconnect or reconnect. */
+    private volatile long floor;
+
+    public PriceCache(@Value("${product.price-cache.ttl:5m}") Duration ttl) {
+        this.ttlNanos = ttl.toNanos();
+    }
+
+    public Double get(String id) {
+        if (suspended.get() > 0) {
+            return null;
+        }
+        Entry entry = prices.get(id);
+        if (entry == null) {
+            return null;
+        }
+        if (System.nanoTime() - entry.expiresAtNanos() > 0) {
+            prices.remove(id, entry);
+            return null;
+        }
+        return entry.price();
+    }
+
+    /** Sequence to pass to {@link #putIfCurrent} for a read that is about to go downstream. */
+    public long stamp() {
+        return sequence.get();
+    }
+
+    /** Applies a pushed price change; the stream always carries the newest price. */
+    public void put(String id, double price) {
+        prices.put(id, new Entry(price, sequence.incrementAndGet(), System.nanoTime() + ttlNanos));
+    }
+
+    /** Applies a price read downstream, unless a newer price arrived after the read was {@code stamp}ed. */
+    public void putIfCurrent(String id, double price, long stamp) {
+        if (suspended.get() > 0 || stamp < floor) {
+            return;
+        }
+        prices.compute(id, (key, current) -> {
+            if (stamp < floor || (current != null && current.sequence() > stamp)) {
+                return current;
+            }
+            return new Entry(price, sequence.incrementAndGet(), System.nanoTime() + ttlNanos);
+        });
+    }
+
+    /** A change stream dropped: stop answering from the cache until {@link #resume()}. */
+    public void suspend() {
+        suspended.incrementAndGet();
+        invalidateAll();
+    }
+
+    /** A change stream is delivering again; reads that started while it was down are not trusted. */
+    public void resume() {
+        floor = sequence.incrementAndGet();
+        suspended.decrementAndGet();
+    }
+
+    public boolean isSuspended() {
+        return suspended.get() > 0;
+    }
+
+    public void invalidate(String id) {
+        prices.remove(id);
+    }
+
+    public void invalidateAll() {
+        floor = sequence.incrementAndGet();
+        prices.clear();
+    }
+
+    public int size() {
+        return prices.size();
+    }
+}
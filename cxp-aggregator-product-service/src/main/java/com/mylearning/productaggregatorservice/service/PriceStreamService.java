@@ -0,0 +1,125 @@
+package com.mylearning.productaggregatorservice.service;
+
+import com.mylearning.productaggregatorservice.dto.PriceChangeEvent;
+import com.mylearning.productaggregatorservice.shard.DomainShards;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.Disposable;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Keeps one long-lived subscription to each domain replica's price-change stream, applies every
+ * event to {@link PriceCache} and fans the events out to our own stream subscribers.
+ */
+@Service
+@Slf4j
+public class PriceStreamService {
+
+    private final DomainShards shards;
+    private final PriceCache priceCache;
+    private final boolean enabled;
+    private final int subscriberBufferSize;
+
+    private final Sinks.Many<PriceChangeEvent> sink = Sinks.many().multicast().directBestEffort();
+    private Disposable upstream;
+
+    public PriceStreamService(DomainShards shards,
+                              PriceCache priceCache,
+                              @Value("${product.price-stream.enabled:true}") boolean enabled,
+                              @Value("${product.price-stream.subscriber-buffer:256}") int subscriberBufferSize) {
+        this.shards = shards;
+        this.priceCache = priceCache;
+        this.enabled = enabled;
+        this.subscriberBufferSize = subscriberBufferSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            log.info("Price stream disabled");
+            return;
+        }
+
+        // One independently reconnecting subscription per replica, merged into a single feed.
+        upstream = Flux.fromIterable(shards.allReplicaClients())
+                .flatMap(this::shardPriceChanges)
+                .subscribe(this::onPriceChange);
+    }
+
+    /**
+     * The cache is suspended the moment a stream fails or completes, not when the retry backoff
+     * eventually resubscribes, and trusted again once the new subscription delivers its first
+     * event. The domain opens every stream with a heartbeat (an event without an id) once it is
+     * subscribed to changes, so that first event proves the stream is really back.
+     */
+    private Flux<PriceChangeEvent> shardPriceChanges(WebClient client) {
+        AtomicBoolean down = new AtomicBoolean();
+        return Flux.defer(() -> client.get()
+                        .uri("/prices/stream")
+                        .accept(MediaType.APPLICATION_NDJSON)
+                        .retrieve()
+                        .bodyToFlux(PriceChangeEvent.class))
+                .doOnSubscribe(s -> log.info("Subscribing to domain price stream"))
+                .doOnNext(event -> reconnected(down))
+                .filter(event -> event.getId() != null)
+                .doOnError(ex -> {
+                    log.warn("Domain price stream failed: {}", ex.getMessage());
+                    disconnected(down);
+                })
+                .doOnComplete(() -> disconnected(down))
+                .repeatWhen(completed -> completed.delayElements(Duration.ofSeconds(1)))
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1))
+                        .maxBackoff(Duration.ofSeconds(30))
+                        .transientErrors(true));
+    }
+
+    private void disconnected(AtomicBoolean down) {
+        if (down.compareAndSet(false, true)) {
+            // Events are missed until we resubscribe, so nothing cached can be trusted.
+            priceCache.suspend();
+        }
+    }
+
+    private void reconnected(AtomicBoolean down) {
+        if (down.get() && down.compareAndSet(true, false)) {
+            log.info("Domain price stream reconnected");
+            priceCache.resume();
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (upstream != null) {
+            upstream.dispose();
+        }
+    }
+
+    private void onPriceChange(PriceChangeEvent event) {
+        log.debug("Price change received: {}", event);
+        priceCache.put(event.getId(), event.getPrice());
+        sink.tryEmitNext(event);
+    }
+
+    /**
+     * Each subscriber gets its own bounded buffer; when a slow consumer fills it the
+     * oldest events are dropped so it always catches up to the latest prices.
+     */
+    public Flux<PriceChangeEvent> priceChanges() {
+        return sink.asFlux()
+                .onBackpressureBuffer(subscriberBufferSize,
+                        dropped -> log.debug("Dropping price event {} for slow subscriber", dropped.getId()),
+                        BufferOverflowStrategy.DROP_OLDEST);
+    }
+}
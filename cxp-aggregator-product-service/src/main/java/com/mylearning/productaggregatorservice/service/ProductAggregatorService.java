@@ -1,61 +1,81 @@
 package com.mylearning.productaggregatorservice.service;
 
 import com.mylearning.productaggregatorservice.dto.ProductDto;
+import com.mylearning.productaggregatorservice.dto.QuoteLine;
+import com.mylearning.productaggregatorservice.dto.QuoteLineResult;
+import com.mylearning.productaggregatorservice.dto.QuoteRequest;
+import com.mylearning.productaggregatorservice.dto.QuoteResponse;
+import com.mylearning.productaggregatorservice.exception.DeadlineExceededException;
 import com.mylearning.productaggregatorservice.exception.DownstreamException;
-import io.github.resilience4j.circuitbreaker.CircuitBreaker;
-import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
-import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import com.mylearning.productaggregatorservice.exception.InvalidQuoteException;
+import com.mylearning.productaggregatorservice.exception.ProductNotFoundException;
+import com.mylearning.productaggregatorservice.lookup.KnownProductIds;
+import com.mylearning.productaggregatorservice.mirror.CatalogMirror;
+import com.mylearning.productaggregatorservice.shard.DomainShards;
+import com.mylearning.productaggregatorservice.shard.ReplicaPool;
 import io.github.resilience4j.reactor.retry.RetryOperator;
 import io.github.resilience4j.retry.Retry;
 import io.github.resilience4j.retry.RetryRegistry;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatusCode;
 import org.springframework.stereotype.Service;
-import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Predicate;
+
 @Service
 @Slf4j
 public class ProductAggregatorService {
 
-    private static final String CB_NAME = "productServiceCB";
     private static final String RETRY_NAME = "productServiceRetry";
+    /* 404s become a stackless ProductNotFoundException without building a WebClientResponseException. */
+    private static final Predicate<HttpStatusCode> NOT_FOUND = status -> status.value() == 404;
+    /* Any other 4xx to a quote is the cart's fault, not the replica's. */
+    private static final Predicate<HttpStatusCode> CLIENT_ERROR = status -> status.is4xxClientError() && status.value() != 404;
 
-    private final WebClient aggregatorWebClient;
-    private final CircuitBreakerRegistry cbRegistry;
+    private final DomainShards shards;
     private final RetryRegistry retryRegistry;
+    private final PriceCache priceCache;
+    private final KnownProductIds knownIds;
+    private final CatalogMirror mirror;
 
-    public ProductAggregatorService(WebClient.Builder builder,
-                                    @Value("${product.service.base-url}") String baseUrl,
-                                    CircuitBreakerRegistry cbRegistry,
-                                    RetryRegistry retryRegistry) {
-        this.aggregatorWebClient = builder.baseUrl(baseUrl).build();
-        this.cbRegistry = cbRegistry;
+    public ProductAggregatorService(DomainShards shards,
+                                    RetryRegistry retryRegistry,
+                                    PriceCache priceCache,
+                                    KnownProductIds knownIds,
+                                    CatalogMirror mirror) {
+        this.shards = shards;
         this.retryRegistry = retryRegistry;
-    }
-
-    private CircuitBreaker getCircuitBreaker() {
-        return cbRegistry.circuitBreaker(CB_NAME);
+        this.priceCache = priceCache;
+        this.knownIds = knownIds;
+        this.mirror = mirror;
     }
 
     private Retry getRetry() {
         return retryRegistry.retry(RETRY_NAME);
     }
 
+    /** Scatter-gather: every shard streams its part of the catalog and the parts are merged as they arrive. */
     public Flux<ProductDto> getAllProducts() {
-        log.info("Fetching all products");
+        log.info("Fetching all products from {} shard(s)", shards.count());
 
-        return aggregatorWebClient.get()
-                .uri("")
-                .retrieve()
-                .bodyToFlux(ProductDto.class)
-                .transformDeferred(CircuitBreakerOperator.of(getCircuitBreaker()))
-                .transformDeferred(RetryOperator.of(getRetry()))
+        return Flux.fromIterable(shards.pools())
+                .flatMap(pool -> pool.executeMany(client -> client.get()
+                                .uri("")
+                                .retrieve()
+                                .bodyToFlux(ProductDto.class))
+                        .transformDeferred(RetryOperator.of(getRetry())))
                 .doOnNext(product -> log.debug("Received product: {}", product))
                 .doOnError(ex -> log.error("Error fetching all products: {}", ex.getMessage()))
                 .onErrorResume(ex -> {
+                    if (ex instanceof DeadlineExceededException) {
+                        return Flux.error(ex);
+                    }
                     if (ex instanceof WebClientResponseException webEx) {
                         String body = webEx.getResponseBodyAsString();
                         log.warn("Downstream 4xx/5xx while fetching all products – {}: {}", webEx.getStatusCode(), body);
@@ -68,15 +88,32 @@ public class ProductAggregatorService {
     public Mono<ProductDto> getProduct(String id) {
         log.info("Fetching product id {}", id);
 
-        return aggregatorWebClient.get()
-                .uri("/{id}", id)
-                .retrieve()
-                .bodyToMono(ProductDto.class)
-                .transformDeferred(CircuitBreakerOperator.of(getCircuitBreaker()))
+        if (mirror.serves(id)) {
+            ProductDto product = mirror.get(id);
+            return product != null ? Mono.just(product) : Mono.error(ProductNotFoundException.forId(id));
+        }
+        if (knownIds.isDefinitelyUnknown(id)) {
+            return Mono.error(ProductNotFoundException.forId(id));
+        }
+
+        long stamp = priceCache.stamp();
+        return shards.poolFor(id).execute(client -> client.get()
+                        .uri("/{id}", id)
+                        .retrieve()
+                        .onStatus(NOT_FOUND, response -> response.releaseBody().thenReturn(ProductNotFoundException.forId(id)))
+                        .bodyToMono(ProductDto.class))
                 .transformDeferred(RetryOperator.of(getRetry()))
+                .doOnNext(product -> priceCache.putIfCurrent(product.getId(), product.getPrice(), stamp))
                 .doOnSuccess(product -> log.info("Product {} fetched", id))
-                .doOnError(ex -> log.error("Error fetching product {}: {}", id, ex.getMessage()))
+                .doOnError(ex -> !(ex instanceof ProductNotFoundException),
+                        ex -> log.error("Error fetching product {}: {}", id, ex.getMessage()))
                 .onErrorResume(ex -> {
+                    if (ex instanceof DeadlineExceededException) {
+                        return Mono.error(ex);
+                    }
+                    if (ex instanceof ProductNotFoundException) {
+                        return Mono.error(ex);
+                    }
                     fallbackProductAction(id, ex);
                     if (ex instanceof WebClientResponseException webEx) {
                         String body = webEx.getResponseBodyAsString();
@@ -90,15 +127,37 @@ public class ProductAggregatorService {
     public Mono<Double> getProductPrice(String id) {
         log.info("Fetching price for product id {}", id);
 
-        return aggregatorWebClient.get()
-                .uri("/{id}/price", id)
-                .retrieve()
-                .bodyToMono(Double.class)
-                .transformDeferred(CircuitBreakerOperator.of(getCircuitBreaker()))
+        if (mirror.serves(id)) {
+            ProductDto product = mirror.get(id);
+            return product != null ? Mono.just(product.getPrice()) : Mono.error(ProductNotFoundException.forId(id));
+        }
+        Double cached = priceCache.get(id);
+        if (cached != null) {
+            log.debug("Price for id {} served from cache", id);
+            return Mono.just(cached);
+        }
+        if (knownIds.isDefinitelyUnknown(id)) {
+            return Mono.error(ProductNotFoundException.forId(id));
+        }
+
+        long stamp = priceCache.stamp();
+        return shards.poolFor(id).execute(client -> client.get()
+                        .uri("/{id}/price", id)
+                        .retrieve()
+                        .onStatus(NOT_FOUND, response -> response.releaseBody().thenReturn(ProductNotFoundException.forId(id)))
+                        .bodyToMono(Double.class))
                 .transformDeferred(RetryOperator.of(getRetry()))
+                .doOnNext(price -> priceCache.putIfCurrent(id, price, stamp))
                 .doOnSuccess(price -> log.info("Price for id {} is {}", id, price))
-                .doOnError(ex -> log.error("Error fetching price for id {}: {}", id, ex.getMessage()))
+                .doOnError(ex -> !(ex instanceof ProductNotFoundException),
+                        ex -> log.error("Error fetching price for id {}: {}", id, ex.getMessage()))
                 .onErrorResume(ex -> {
+                    if (ex instanceof DeadlineExceededException) {
+                        return Mono.error(ex);
+                    }
+                    if (ex instanceof ProductNotFoundException) {
+                        return Mono.error(ex);
+                    }
                     fallbackProductPriceAction(id, ex);
                     if (ex instanceof WebClientResponseException webEx) {
                         String body = webEx.getResponseBodyAsString();
@@ -109,6 +168,75 @@ public class ProductAggregatorService {
                 });
     }
 
+    /**
+     * Splits the cart by owning shard, quotes each part on its shard in parallel and
+     * reassembles the lines in request order.
+     */
+    public Mono<QuoteResponse> getQuote(QuoteRequest request) {
+        List<QuoteLine> lines = request.getLines();
+        log.info("Fetching quote for {} lines", lines.size());
+
+        for (QuoteLine line : lines) {
+            if (knownIds.isDefinitelyUnknown(line.getId())) {
+                return Mono.error(ProductNotFoundException.forId(line.getId()));
+            }
+        }
+
+        List<List<QuoteLine>> linesByShard = new ArrayList<>();
+        List<List<Integer>> positionsByShard = new ArrayList<>();
+        for (int shard = 0; shard < shards.count(); shard++) {
+            linesByShard.add(new ArrayList<>());
+            positionsByShard.add(new ArrayList<>());
+        }
+        for (int i = 0; i < lines.size(); i++) {
+            int shard = shards.ownerOf(lines.get(i).getId());
+            linesByShard.get(shard).add(lines.get(i));
+            positionsByShard.get(shard).add(i);
+        }
+
+        QuoteLineResult[] merged = new QuoteLineResult[lines.size()];
+        return Flux.range(0, shards.count())
+                .filter(shard -> !linesByShard.get(shard).isEmpty())
+                .flatMap(shard -> quoteOnShard(shards.pool(shard), new QuoteRequest(linesByShard.get(shard)))
+                        .doOnNext(part -> {
+                            List<Integer> positions = positionsByShard.get(shard);
+                            for (int i = 0; i < positions.size(); i++) {
+                                merged[positions.get(i)] = part.getLines().get(i);
+                            }
+                        }))
+                .reduce(0.0, (total, part) -> total + part.getTotal())
+                .map(total -> new QuoteResponse(Arrays.asList(merged), total))
+                .doOnNext(quote -> log.info("Quote for {} lines is {}", lines.size(), quote.getTotal()))
+                .doOnError(ex -> log.error("Error fetching quote: {}", ex.getMessage()))
+                .onErrorResume(ex -> {
+                    if (ex instanceof DeadlineExceededException) {
+                        return Mono.error(ex);
+                    }
+                    if (ex instanceof ProductNotFoundException || ex instanceof InvalidQuoteException) {
+                        return Mono.error(ex);
+                    }
+                    if (ex instanceof WebClientResponseException webEx) {
+                        String body = webEx.getResponseBodyAsString();
+                        log.warn("Downstream 4xx/5xx for quote – {}: {}", webEx.getStatusCode(), body);
+                        return Mono.error(new DownstreamException("Failed to fetch quote: " + body, webEx));
+                    }
+                    return Mono.error(new DownstreamException("Failed to fetch quote", ex));
+                });
+    }
+
+    private Mono<QuoteResponse> quoteOnShard(ReplicaPool pool, QuoteRequest request) {
+        return pool.execute(client -> client.post()
+                        .uri("/quote")
+                        .bodyValue(request)
+                        .retrieve()
+                        .onStatus(NOT_FOUND, response -> response.releaseBody()
+                                .thenReturn(new ProductNotFoundException("Quote contains an unknown product")))
+                        .onStatus(CLIENT_ERROR, response -> response.releaseBody()
+                                .thenReturn(new InvalidQuoteException("Domain rejected the quote: " + response.statusCode())))
+                        .bodyToMono(QuoteResponse.class))
+                .transformDeferred(RetryOperator.of(getRetry()));
+    }
+
     private void fallbackProductAction(String id, Throwable ex) {
         log.warn("Fallback triggered for product {}: {}", id, ex.toString());
     }
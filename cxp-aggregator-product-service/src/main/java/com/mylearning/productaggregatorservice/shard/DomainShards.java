@@ -0,0 +1,94 @@
+package com.mylearning.productaggregatorservice.shard;
+
+import com.mylearning.productcommon.shard.ConsistentHashRing;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The domain-service shards, in shard-index order, and the ring that maps a product id to
+ * the shard holding it. Each shard is a pool of replicas ({@code url1|url2} in
+ * {@code product.service.shards}). With no shard list configured, the
+ * {@code product.service.replicas} list (by default just the base URL) forms shard 0.
+ */
+@Component
+@Slf4j
+public class DomainShards {
+
+    private static final String CB_PREFIX = "productServiceCB-";
+
+    private final List<ReplicaPool> pools;
+    private final ConsistentHashRing ring;
+
+    public DomainShards(WebClient.Builder builder,
+                        CircuitBreakerRegistry cbRegistry,
+                        ObservationRegistry observationRegistry,
+                        @Value("${product.service.shards:}") List<String> shardSpecs,
+                        @Value("${product.service.replicas:${product.service.base-url}}") List<String> replicas,
+                        @Value("${product.service.shard-virtual-nodes:128}") int virtualNodes,
+                        @Value("${product.service.lb.consecutive-failures:5}") int failureThreshold,
+                        @Value("${product.service.lb.base-ejection-time:10s}") Duration baseEjectionTime) {
+        List<List<String>> shardUrls = new ArrayList<>();
+        for (String spec : shardSpecs) {
+            if (!spec.isBlank()) {
+                shardUrls.add(Arrays.stream(spec.split("\\|")).map(String::trim).toList());
+            }
+        }
+        if (shardUrls.isEmpty()) {
+            shardUrls.add(replicas);
+        }
+
+        this.pools = shardUrls.stream()
+                .map(urls -> new ReplicaPool(urls.stream()
+                        .map(url -> new Replica(url,
+                                builder.clone().baseUrl(url).build(),
+                                cbRegistry.circuitBreaker(circuitBreakerName(url))))
+                        .toList(), failureThreshold, baseEjectionTime, observationRegistry))
+                .toList();
+        this.ring = new ConsistentHashRing(pools.size(), virtualNodes);
+        log.info("Routing to {} domain shard(s): {}", pools.size(), shardUrls);
+    }
+
+    /** One breaker per replica, e.g. productServiceCB-localhost-8082; all share the default config. */
+    private static String circuitBreakerName(String url) {
+        URI uri = URI.create(url);
+        return CB_PREFIX + uri.getHost() + "-" + uri.getPort();
+    }
+
+    public int count() {
+        return pools.size();
+    }
+
+    public int ownerOf(String productId) {
+        return ring.ownerOf(productId);
+    }
+
+    public ReplicaPool poolFor(String productId) {
+        return pools.get(ring.ownerOf(productId));
+    }
+
+    public ReplicaPool pool(int shard) {
+        return pools.get(shard);
+    }
+
+    public List<ReplicaPool> pools() {
+        return pools;
+    }
+
+    /** Every replica of every shard, for subscriptions that must see all of them. */
+    public List<WebClient> allReplicaClients() {
+        return pools.stream()
+                .flatMap(pool -> pool.replicas().stream())
+                .map(Replica::client)
+                .toList();
+    }
+}
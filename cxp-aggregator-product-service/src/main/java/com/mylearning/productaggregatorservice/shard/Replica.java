@@ -0,0 +1,96 @@
+package com.mylearning.productaggregatorservice.shard;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * One domain-service instance, with the live statistics the balancer picks by:
+ * outstanding requests, smoothed latency, consecutive failures and ejection state.
+ */
+public final class Replica {
+
+    /* Weight of the newest sample in the latency average. */
+    private static final double EWMA_ALPHA = 0.3;
+    /* Added to the latency score so an idle replica with no samples yet is not "free". */
+    private static final double LATENCY_FLOOR_NANOS = 1_000_000;
+
+    private final String baseUrl;
+    private final WebClient client;
+    private final CircuitBreaker circuitBreaker;
+
+    private final AtomicInteger outstanding = new AtomicInteger();
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private volatile double latencyEwmaNanos;
+    private volatile long ejectedUntilNanos;
+    private volatile int ejections;
+
+    Replica(String baseUrl, WebClient client, CircuitBreaker circuitBreaker) {
+        this.baseUrl = baseUrl;
+        this.client = client;
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    public String baseUrl() {
+        return baseUrl;
+    }
+
+    public WebClient client() {
+        return client;
+    }
+
+    public CircuitBreaker circuitBreaker() {
+        return circuitBreaker;
+    }
+
+    public int outstanding() {
+        return outstanding.get();
+    }
+
+    public double latencyEwmaNanos() {
+        return latencyEwmaNanos;
+    }
+
+    boolean isAvailable(long nowNanos) {
+        if (nowNanos - ejectedUntilNanos < 0) {
+            return false;
+        }
+        CircuitBreaker.State state = circuitBreaker.getState();
+        return state != CircuitBreaker.State.OPEN && state != CircuitBreaker.State.FORCED_OPEN;
+    }
+
+    /** Lower is better: expected wait if our request queues behind everything outstanding. */
+    double score() {
+        return (latencyEwmaNanos + LATENCY_FLOOR_NANOS) * (outstanding.get() + 1);
+    }
+
+    void onStart() {
+        outstanding.incrementAndGet();
+    }
+
+    void onFinish() {
+        outstanding.decrementAndGet();
+    }
+
+    void onSuccess(long latencyNanos) {
+        consecutiveFailures.set(0);
+        ejections = 0;
+        if (latencyNanos >= 0) {
+            double current = latencyEwmaNanos;
+            latencyEwmaNanos = current == 0 ? latencyNanos : current + EWMA_ALPHA * (latencyNanos - current);
+        }
+    }
+
+    /** Returns true when this failure ejected the replica. */
+    boolean onFailure(int failureThreshold, long baseEjectionNanos, long nowNanos) {
+        if (consecutiveFailures.incrementAndGet() < failureThreshold) {
+            return false;
+        }
+        consecutiveFailures.set(0);
+        // Back off longer each time a replica is ejected again without recovering in between.
+        int times = Math.min(++ejections, 10);
+        ejectedUntilNanos = nowNanos + baseEjectionNanos * times;
+        return true;
+    }
+}
@@ -0,0 +1,158 @@
+package com.mylearning.productaggregatorservice.shard;
+
+import com.mylearning.productaggregatorservice.exception.DeadlineExceededException;
+import com.mylearning.productaggregatorservice.exception.InvalidQuoteException;
+import com.mylearning.productaggregatorservice.exception.ProductNotFoundException;
+import com.mylearning.productaggregatorservice.tracing.CallObservation;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.context.ContextView;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+
+/**
+ * Client-side balancing over the replicas of one shard: power-of-two-choices on
+ * latency-weighted outstanding requests, with a circuit breaker per replica and
+ * outlier ejection after consecutive failures. Every call picks afresh, so a retry
+ * wrapped around {@link #execute} usually lands on a different replica. Each attempt is
+ * observed as a {@code domain.call} span tagged with the replica and the outcome.
+ */
+@Slf4j
+public class ReplicaPool {
+
+    private final List<Replica> replicas;
+    private final int failureThreshold;
+    private final long baseEjectionNanos;
+    private final ObservationRegistry observationRegistry;
+
+    public ReplicaPool(List<Replica> replicas, int failureThreshold, Duration baseEjectionTime) {
+        this(replicas, failureThreshold, baseEjectionTime, ObservationRegistry.NOOP);
+    }
+
+    public ReplicaPool(List<Replica> replicas, int failureThreshold, Duration baseEjectionTime,
+                       ObservationRegistry observationRegistry) {
+        if (replicas.isEmpty()) {
+            throw new IllegalArgumentException("A replica pool needs at least one replica");
+        }
+        this.replicas = List.copyOf(replicas);
+        this.failureThreshold = failureThreshold;
+        this.baseEjectionNanos = baseEjectionTime.toNanos();
+        this.observationRegistry = observationRegistry;
+    }
+
+    public List<Replica> replicas() {
+        return replicas;
+    }
+
+    public <T> Mono<T> execute(Function<WebClient, Mono<T>> call) {
+        return Mono.deferContextual(context -> {
+            Replica replica = choose();
+            Observation observation = startObservation(replica, context);
+            long start = System.nanoTime();
+            replica.onStart();
+            // Deferred so that a call that throws while building its request still reaches doFinally.
+            return CallObservation.observe(Mono.defer(() -> call.apply(replica.client()))
+                    .transformDeferred(CircuitBreakerOperator.of(replica.circuitBreaker()))
+                    .doOnSuccess(value -> replica.onSuccess(System.nanoTime() - start))
+                    .doOnError(ex -> onFailure(replica, ex))
+                    .doFinally(signal -> replica.onFinish()), observation);
+        });
+    }
+
+    /** Streaming variant; stream duration says nothing about replica speed, so it only feeds load and failures. */
+    public <T> Flux<T> executeMany(Function<WebClient, Flux<T>> call) {
+        return Flux.deferContextual(context -> {
+            Replica replica = choose();
+            Observation observation = startObservation(replica, context);
+            replica.onStart();
+            return CallObservation.observe(Flux.defer(() -> call.apply(replica.client()))
+                    .transformDeferred(CircuitBreakerOperator.of(replica.circuitBreaker()))
+                    .doOnComplete(() -> replica.onSuccess(-1))
+                    .doOnError(ex -> onFailure(replica, ex))
+                    .doFinally(signal -> replica.onFinish()), observation);
+        });
+    }
+
+    private Observation startObservation(Replica replica, ContextView context) {
+        return CallObservation.start("domain.call", observationRegistry, context)
+                .lowCardinalityKeyValue("replica", replica.baseUrl());
+    }
+
+    Replica choose() {
+        int n = replicas.size();
+        if (n == 1) {
+            return replicas.get(0);
+        }
+
+        long now = System.nanoTime();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(n);
+        int second = random.nextInt(n - 1);
+        if (second >= first) {
+            second++;
+        }
+        Replica a = replicas.get(first);
+        Replica b = replicas.get(second);
+        boolean aUp = a.isAvailable(now);
+        boolean bUp = b.isAvailable(now);
+        if (aUp && bUp) {
+            return a.score() <= b.score() ? a : b;
+        }
+        if (aUp || bUp) {
+            return aUp ? a : b;
+        }
+        return bestOf(now);
+    }
+
+    /* Both samples were out: take the best available replica, or if none is, the least loaded (panic mode). */
+    private Replica bestOf(long now) {
+        Replica best = null;
+        for (Replica replica : replicas) {
+            if (replica.isAvailable(now) && (best == null || replica.score() < best.score())) {
+                best = replica;
+            }
+        }
+        if (best != null) {
+            return best;
+        }
+        for (Replica replica : replicas) {
+            if (best == null || replica.outstanding() < best.outstanding()) {
+                best = replica;
+            }
+        }
+        return best;
+    }
+
+    private void onFailure(Replica replica, Throwable ex) {
+        if (!isReplicaFault(ex)) {
+            return;
+        }
+        if (replica.onFailure(failureThreshold, baseEjectionNanos, System.nanoTime())) {
+            log.warn("Ejecting domain replica {} after {} consecutive failures", replica.baseUrl(), failureThreshold);
+        }
+    }
+
+    /*
+     * 4xx answers (including not-found), breaker rejections and deadlines say nothing about the replica's
+     * health. A 504 is the domain giving up on the budget we sent it, so it is not a fault either.
+     */
+    private static boolean isReplicaFault(Throwable ex) {
+        if (ex instanceof WebClientResponseException webEx) {
+            return webEx.getStatusCode().is5xxServerError() && webEx.getStatusCode().value() != 504;
+        }
+        return !(ex instanceof CallNotPermittedException)
+                && !(ex instanceof DeadlineExceededException)
+                && !(ex instanceof ProductNotFoundException)
+                && !(ex instanceof InvalidQuoteException);
+    }
+}
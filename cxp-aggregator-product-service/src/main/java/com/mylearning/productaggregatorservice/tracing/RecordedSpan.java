@@ -0,0 +1,22 @@
+package com.mylearning.productaggregatorservice.tracing;
+
+import java.util.Map;
+
+/**
+ * A finished span as kept in the {@link SpanRingBuffer}; timestamps are epoch microseconds.
+ */
+public record RecordedSpan(String traceId,
+                           String spanId,
+                           String parentId,
+                           String service,
+                           String name,
+                           String kind,
+                           long startEpochMicros,
+                           long durationMicros,
+                           Map<String, String> tags,
+                           boolean error) {
+
+    public long endEpochMicros() {
+        return startEpochMicros + durationMicros;
+    }
+}
@@ -0,0 +1,68 @@
+package com.mylearning.productaggregatorservice.tracing;
+
+import brave.handler.MutableSpan;
+import brave.handler.SpanHandler;
+import brave.propagation.TraceContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Keeps the last {@code tracing.buffer.capacity} finished spans in memory, overwriting the
+ * oldest, so slow traces can be inspected through {@link TracesEndpoint} without a collector.
+ */
+@Component
+public class SpanRingBuffer extends SpanHandler {
+
+    private final AtomicReferenceArray<RecordedSpan> slots;
+    private final AtomicLong written = new AtomicLong();
+
+    public SpanRingBuffer(@Value("${tracing.buffer.capacity:10000}") int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("tracing.buffer.capacity must be positive");
+        }
+        this.slots = new AtomicReferenceArray<>(capacity);
+    }
+
+    @Override
+    public boolean end(TraceContext context, MutableSpan span, Cause cause) {
+        if (cause != Cause.FINISHED) {
+            return true;
+        }
+        long start = span.startTimestamp();
+        RecordedSpan recorded = new RecordedSpan(
+                context.traceIdString(),
+                context.spanIdString(),
+                context.parentIdString(),
+                span.localServiceName(),
+                span.name(),
+                span.kind() != null ? span.kind().name() : null,
+                start,
+                Math.max(0, span.finishTimestamp() - start),
+                span.tags(),
+                span.error() != null || span.tag("error") != null);
+        slots.set((int) (written.getAndIncrement() % slots.length()), recorded);
+        return true;
+    }
+
+    /** The spans currently held, in no particular order. */
+    public List<RecordedSpan> snapshot() {
+        int held = (int) Math.min(written.get(), slots.length());
+        List<RecordedSpan> spans = new ArrayList<>(held);
+        for (int i = 0; i < slots.length(); i++) {
+            RecordedSpan span = slots.get(i);
+            if (span != null) {
+                spans.add(span);
+            }
+        }
+        return spans;
+    }
+
+    public int capacity() {
+        return slots.length();
+    }
+}
@@ -0,0 +1,141 @@
+package com.mylearning.productaggregatorservice.deadline;
+
+import com.mylearning.productaggregatorservice.exception.GlobalExceptionHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Sends requests through the filter to a handler that makes one downstream call, through
+ * {@link DeadlineExchangeFilter}, to a local stand-in. The stand-in records the budget it was
+ * given and can be told to never answer.
+ */
+class DeadlineWebFilterTest {
+
+    private final AtomicReference<String> forwarded = new AtomicReference<>();
+    private final AtomicInteger calls = new AtomicInteger();
+    private final AtomicBoolean hang = new AtomicBoolean();
+    private final CountDownLatch cancelled = new CountDownLatch(1);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private DisposableServer downstream;
+    private WebTestClient client;
+
+    @BeforeEach
+    void start() {
+        downstream = HttpServer.create()
+                .port(0)
+                .route(routes -> routes.get("/price", (request, response) -> {
+                    calls.incrementAndGet();
+                    forwarded.set(request.requestHeaders().get(DeadlineWebFilter.HEADER));
+                    return response.sendString(hang.get()
+                                    ? Mono.<String>never().doOnCancel(cancelled::countDown)
+                                    : Mono.just("49.9"))
+                            .then();
+                }))
+                .bindNow();
+        WebClient webClient = WebClient.builder()
+                .baseUrl("http://localhost:" + downstream.port())
+                .filter(new DeadlineExchangeFilter(meterRegistry))
+                .build();
+        DeadlineWebFilter filter = new DeadlineWebFilter(Duration.ZERO, Duration.ofSeconds(10), meterRegistry,
+                new GlobalExceptionHandler(), Jackson2ObjectMapperBuilder.json().build());
+        client = WebTestClient.bindToWebHandler(exchange -> webClient.get().uri("/price")
+                        .retrieve()
+                        .bodyToMono(String.class)
+                        .flatMap(price -> write(exchange.getResponse(), price)))
+                .webFilter(filter)
+                .build();
+    }
+
+    @AfterEach
+    void stop() {
+        downstream.disposeNow();
+    }
+
+    @Test
+    void downstreamCallCarriesWhatIsLeftOfTheBudget() {
+        client.get().uri("/api/aggregator/products/101/price")
+                .header(DeadlineWebFilter.HEADER, "500")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class).isEqualTo("49.9");
+
+        assertThat(Long.parseLong(forwarded.get())).isPositive().isLessThan(500);
+    }
+
+    @Test
+    void budgetIsCappedAtTheConfiguredMaximum() {
+        client.get().uri("/api/aggregator/products/101/price")
+                .header(DeadlineWebFilter.HEADER, "60000")
+                .exchange()
+                .expectStatus().isOk();
+
+        assertThat(Long.parseLong(forwarded.get())).isPositive().isLessThan(10_000);
+    }
+
+    @Test
+    void withoutAHeaderOrDefaultNoBudgetIsForwarded() {
+        client.get().uri("/api/aggregator/products/101/price")
+                .exchange()
+                .expectStatus().isOk();
+
+        assertThat(calls).hasValue(1);
+        assertThat(forwarded.get()).isNull();
+    }
+
+    @Test
+    void requestArrivingWithNoBudgetLeftGetsA504EnvelopeWithoutCallingDownstream() {
+        client.get().uri("/api/aggregator/products/101/price")
+                .header(DeadlineWebFilter.HEADER, "0")
+                .exchange()
+                .expectStatus().isEqualTo(504)
+                .expectBody()
+                .jsonPath("$.apiSuccess").isEqualTo(false)
+                .jsonPath("$.errors[0].code").isEqualTo("DEADLINE_EXCEEDED");
+
+        assertThat(calls).hasValue(0);
+        assertThat(exceeded("arrival")).isEqualTo(1);
+    }
+
+    @Test
+    void budgetRunningOutAnswers504AndCancelsTheDownstreamCall() throws InterruptedException {
+        hang.set(true);
+
+        client.get().uri("/api/aggregator/products/101/price")
+                .header(DeadlineWebFilter.HEADER, "200")
+                .exchange()
+                .expectStatus().isEqualTo(504)
+                .expectBody()
+                .jsonPath("$.apiSuccess").isEqualTo(false)
+                .jsonPath("$.errors[0].code").isEqualTo("DEADLINE_EXCEEDED");
+
+        assertThat(cancelled.await(5, TimeUnit.SECONDS)).as("downstream call cancelled").isTrue();
+        assertThat(exceeded("timeout")).isEqualTo(1);
+    }
+
+    private double exceeded(String reason) {
+        return meterRegistry.get(DeadlineWebFilter.METRIC).tag("reason", reason).counter().count();
+    }
+
+    private static Mono<Void> write(ServerHttpResponse response, String body) {
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(body.getBytes(StandardCharsets.UTF_8))));
+    }
+}
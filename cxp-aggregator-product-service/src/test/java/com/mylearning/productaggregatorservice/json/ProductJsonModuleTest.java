@@ -0,0 +1,76 @@
+package com.mylearning.productaggregatorservice.json;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import com.mylearning.productaggregatorservice.dto.ApiResponse;
+import com.mylearning.productaggregatorservice.dto.ProductDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/** The hand-written codecs must be indistinguishable from the reflective ones on the wire. */
+class ProductJsonModuleTest {
+
+    private final ObjectMapper reflective = mapper(false);
+    private final ObjectMapper tuned = mapper(true);
+
+    private static ObjectMapper mapper(boolean withModule) {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        if (withModule) {
+            builder.modulesToInstall(new ProductJsonModule());
+        }
+        return builder.build();
+    }
+
+    @Test
+    void envelopeIsWrittenAsTheReflectiveSerializerWritesIt() throws Exception {
+        ProductDto product = new ProductDto("101", "Wireless \"Mouse\"", null, 499.5);
+        List<Object> payloads = List.of(product, List.of(product, new ProductDto("102", "Keyboard", "Mechanical", 1299)), 499.0);
+        List<Instant> instants = List.of(
+                Instant.parse("2025-03-01T10:15:30Z"),
+                Instant.parse("2025-03-01T10:15:30.120Z"),
+                Instant.parse("2025-03-01T10:15:30.123450Z"),
+                Instant.parse("2025-03-01T10:15:30.000000007Z"),
+                Instant.now());
+
+        for (Instant instant : instants) {
+            for (Object data : payloads) {
+                ApiResponse<Object> response = new ApiResponse<>(true, instant, data, null);
+                assertThat(tuned.writeValueAsString(response)).isEqualTo(reflective.writeValueAsString(response));
+            }
+        }
+        ApiResponse<Object> empty = new ApiResponse<>(false, null, null, List.of());
+        assertThat(tuned.writeValueAsString(empty)).isEqualTo(reflective.writeValueAsString(empty));
+    }
+
+    @Test
+    void domainProductsAreReadAsTheReflectiveDeserializerReadsThem() throws Exception {
+        String json = """
+                [{"id":"101","name":"Wireless Mouse","price":499,"stock":{"warehouse":[1,2]}},
+                 {"id":"102","name":null,"price":1299.99},
+                 {"price":"10.5","id":"103"}]""";
+        TypeReference<List<ProductDto>> listOfProducts = new TypeReference<>() {};
+
+        assertThat(tuned.readValue(json, listOfProducts)).isEqualTo(reflective.readValue(json, listOfProducts));
+    }
+
+    @Test
+    void malformedPricesAreRejectedLikeTheReflectiveDeserializerRejectsThem() {
+        for (String price : List.of("\"abc\"", "true", "{\"amount\":1}", "[499]")) {
+            String json = "{\"id\":\"101\",\"price\":" + price + "}";
+
+            assertThatThrownBy(() -> reflective.readValue(json, ProductDto.class)).as(json)
+                    .isInstanceOf(MismatchedInputException.class);
+            assertThatThrownBy(() -> tuned.readValue(json, ProductDto.class)).as(json)
+                    .isInstanceOf(MismatchedInputException.class);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.mylearning.productaggregatorservice.lookup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mylearning.productaggregatorservice.dto.IdFilterDto;
+import com.mylearning.productaggregatorservice.shard.DomainShards;
+import com.mylearning.productcommon.lookup.BloomFilter;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** Loads id filters from a local stand-in for a domain instance that serves a scripted filter. */
+class KnownProductIdsTest {
+
+    private final AtomicReference<String> filter = new AtomicReference<>();
+    private final AtomicInteger status = new AtomicInteger(200);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private DisposableServer server;
+    private KnownProductIds knownIds;
+
+    @BeforeEach
+    void start() {
+        server = HttpServer.create()
+                .port(0)
+                .route(routes -> routes.get("/api/products/ids/filter", (request, response) -> response
+                        .status(status.get())
+                        .header("Content-Type", "application/json")
+                        .sendString(Mono.just(filter.get()))
+                        .then()))
+                .bindNow();
+        String url = "http://localhost:" + server.port() + "/api/products";
+        DomainShards shards = new DomainShards(WebClient.builder(), CircuitBreakerRegistry.ofDefaults(),
+                ObservationRegistry.NOOP, List.of(), List.of(url), 128, 5, Duration.ofSeconds(10));
+        knownIds = new KnownProductIds(shards, true, Duration.ofMinutes(1), meterRegistry);
+    }
+
+    @AfterEach
+    void stop() {
+        server.disposeNow();
+    }
+
+    @Test
+    void everyIdIsPossiblyKnownUntilAFilterLoads() {
+        assertThat(knownIds.isDefinitelyUnknown("999")).isFalse();
+    }
+
+    @Test
+    void idsTheLoadedFilterRulesOutAreAnsweredLocally() throws Exception {
+        filter.set(filter(1, "101", "102"));
+
+        knownIds.refreshAll().block();
+
+        assertThat(knownIds.isDefinitelyUnknown("101")).isFalse();
+        assertThat(knownIds.isDefinitelyUnknown("102")).isFalse();
+        assertThat(knownIds.isDefinitelyUnknown("999")).isTrue();
+        assertThat(definiteMisses()).isEqualTo(1);
+    }
+
+    @Test
+    void aNewVersionReplacesTheFilterAndTheSameVersionIsKept() throws Exception {
+        filter.set(filter(1, "101"));
+        knownIds.refreshAll().block();
+        assertThat(knownIds.isDefinitelyUnknown("201")).isTrue();
+
+        // Same version, different bits: the installed filter is not rebuilt.
+        filter.set(filter(1, "201"));
+        knownIds.refreshAll().block();
+        assertThat(knownIds.isDefinitelyUnknown("201")).isTrue();
+        assertThat(knownIds.isDefinitelyUnknown("101")).isFalse();
+
+        filter.set(filter(2, "201"));
+        knownIds.refreshAll().block();
+        assertThat(knownIds.isDefinitelyUnknown("201")).isFalse();
+        assertThat(knownIds.isDefinitelyUnknown("101")).isTrue();
+    }
+
+    @Test
+    void failedFetchKeepsIdsPossiblyKnownOrKeepsTheLastFilter() throws Exception {
+        status.set(500);
+        filter.set("{}");
+        knownIds.refreshAll().block();
+        assertThat(knownIds.isDefinitelyUnknown("999")).isFalse();
+
+        status.set(200);
+        filter.set(filter(1, "101"));
+        knownIds.refreshAll().block();
+
+        status.set(500);
+        filter.set("{}");
+        knownIds.refreshAll().block();
+        assertThat(knownIds.isDefinitelyUnknown("101")).isFalse();
+        assertThat(knownIds.isDefinitelyUnknown("999")).isTrue();
+    }
+
+    private double definiteMisses() {
+        return meterRegistry.get("product.id-filter.definite-misses").counter().count();
+    }
+
+    /* Padded with other ids: a filter over one or two ids is too small to keep its false-positive rate. */
+    private static String filter(long version, String... ids) throws Exception {
+        List<String> catalog = new ArrayList<>(List.of(ids));
+        IntStream.range(0, 1_000).mapToObj(i -> "pad-" + i).forEach(catalog::add);
+        BloomFilter bloom = BloomFilter.of(catalog, 0.001);
+        return new ObjectMapper().writeValueAsString(
+                new IdFilterDto(version, catalog.size(), bloom.bitCount(), bloom.hashCount(), bloom.toBytes()));
+    }
+}
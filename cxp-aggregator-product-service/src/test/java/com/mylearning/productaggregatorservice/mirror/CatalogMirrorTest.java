@@ -0,0 +1,146 @@
+package com.mylearning.productaggregatorservice.mirror;
+
+import com.mylearning.productaggregatorservice.shard.DomainShards;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.http.server.HttpServerResponse;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Mirrors a local stand-in for a domain instance that serves the catalog, its watermark and
+ * scripted answers to {@code GET /api/products/changes}.
+ */
+class CatalogMirrorTest {
+
+    private static final String WATERMARK = """
+            {"instanceId":"a","catalogVersion":1,"watermark":7,"complete":true,"products":[]}""";
+
+    private final Map<String, AtomicInteger> hits = new ConcurrentHashMap<>();
+    private final AtomicReference<String> changes = new AtomicReference<>();
+    private final AtomicInteger catalogStatus = new AtomicInteger(200);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private DisposableServer server;
+    private DomainShards shards;
+    private CatalogMirror mirror;
+
+    @BeforeEach
+    void start() {
+        server = HttpServer.create()
+                .port(0)
+                .route(routes -> routes
+                        .get("/api/products/changes/watermark", (request, response) -> json(response, "watermark", WATERMARK))
+                        .get("/api/products/changes", (request, response) -> json(response, "changes", changes.get()))
+                        .get("/api/products", (request, response) -> json(response.status(catalogStatus.get()), "all", """
+                                [{"id":"101","name":"Mouse","price":499.0},{"id":"102","name":"Keyboard","price":1299.0}]""")))
+                .bindNow();
+        String url = "http://localhost:" + server.port() + "/api/products";
+        shards = new DomainShards(WebClient.builder(), CircuitBreakerRegistry.ofDefaults(), ObservationRegistry.NOOP,
+                List.of(), List.of(url), 128, 5, Duration.ofSeconds(10));
+        mirror = mirror(Duration.ofMinutes(1));
+    }
+
+    private CatalogMirror mirror(Duration maxStaleness) {
+        return new CatalogMirror(shards, true, Duration.ofMinutes(1), maxStaleness, meterRegistry);
+    }
+
+    @AfterEach
+    void stop() {
+        server.disposeNow();
+    }
+
+    @Test
+    void copiesTheCatalogThenPullsOnlyChanges() {
+        assertThat(mirror.serves("101")).isFalse();
+
+        mirror.refreshAll().block();
+        assertThat(mirror.serves("101")).isTrue();
+        assertThat(mirror.get("101").getPrice()).isEqualTo(499.0);
+        assertThat(mirror.get("999")).isNull();
+
+        changes.set("""
+                {"instanceId":"a","catalogVersion":1,"watermark":9,"complete":true,\
+                "products":[{"id":"101","name":"Mouse","price":450.0}]}""");
+        mirror.refreshAll().block();
+
+        assertThat(mirror.get("101").getPrice()).isEqualTo(450.0);
+        assertThat(mirror.get("102").getPrice()).isEqualTo(1299.0);
+        assertThat(hits.get("all").get()).isEqualTo(1);
+        assertThat(hits.get("changes").get()).isEqualTo(1);
+        assertThat(mirror.size()).isEqualTo(2);
+        assertThat(mirror.estimatedBytes()).isPositive();
+    }
+
+    @Test
+    void copiesAgainWhenTheDomainCannotListChanges() {
+        mirror.refreshAll().block();
+        changes.set("""
+                {"instanceId":"b","catalogVersion":1,"watermark":0,"complete":false,"products":[]}""");
+
+        mirror.refreshAll().block();
+
+        assertThat(hits.get("all").get()).isEqualTo(2);
+        assertThat(mirror.serves("102")).isTrue();
+    }
+
+    @Test
+    void readsGoRemoteOnceTheCopyIsPastMaxStaleness() throws InterruptedException {
+        CatalogMirror mirror = mirror(Duration.ofMillis(500));
+        mirror.refreshAll().block();
+        assertThat(mirror.serves("101")).isTrue();
+
+        Thread.sleep(700);
+
+        assertThat(mirror.serves("101")).isFalse();
+        assertThat(mirror.serves("999")).isFalse();
+        assertThat(reads("local")).isEqualTo(1);
+        assertThat(reads("remote")).isEqualTo(2);
+    }
+
+    @Test
+    void incompleteChangesAreNeverServedAndReadsGoRemoteIfTheCopyCannotBeRedone() throws InterruptedException {
+        CatalogMirror mirror = mirror(Duration.ofMillis(500));
+        mirror.refreshAll().block();
+        changes.set("""
+                {"instanceId":"a","catalogVersion":1,"watermark":9,"complete":false,\
+                "products":[{"id":"101","name":"Mouse","price":1.0}]}""");
+        catalogStatus.set(500);
+
+        mirror.refreshAll().block();
+        // The partial answer was not applied; the old copy answers until it is too old.
+        assertThat(mirror.get("101").getPrice()).isEqualTo(499.0);
+
+        Thread.sleep(700);
+        mirror.refreshAll().block();
+
+        assertThat(hits.get("all").get()).isEqualTo(3);
+        assertThat(mirror.serves("101")).isFalse();
+        assertThat(reads("remote")).isEqualTo(1);
+    }
+
+    private double reads(String served) {
+        return meterRegistry.get("product.mirror.reads").tag("served", served).counter().count();
+    }
+
+    private Mono<Void> json(HttpServerResponse response, String route, String body) {
+        hits.computeIfAbsent(route, key -> new AtomicInteger()).incrementAndGet();
+        return response.header("Content-Type", "application/json")
+                .sendString(Mono.just(body))
+                .then();
+    }
+}
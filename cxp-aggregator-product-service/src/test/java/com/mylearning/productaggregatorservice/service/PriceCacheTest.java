@@ -0,0 +1,56 @@
+package com.mylearning.productaggregatorservice.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PriceCacheTest {
+
+    private final PriceCache cache = new PriceCache(Duration.ofMinutes(5));
+
+    @Test
+    void slowReadDoesNotReplaceNewerStreamedPrice() {
+        long stamp = cache.stamp();
+        cache.put("101", 12.0);
+
+        cache.putIfCurrent("101", 10.0, stamp);
+
+        assertThat(cache.get("101")).isEqualTo(12.0);
+    }
+
+    @Test
+    void readStartedAfterLastChangeIsApplied() {
+        cache.put("101", 12.0);
+        long stamp = cache.stamp();
+
+        cache.putIfCurrent("101", 13.0, stamp);
+
+        assertThat(cache.get("101")).isEqualTo(13.0);
+    }
+
+    @Test
+    void cacheIsBypassedWhileStreamIsDown() {
+        cache.put("101", 12.0);
+
+        cache.suspend();
+        cache.putIfCurrent("101", 13.0, cache.stamp());
+
+        assertThat(cache.get("101")).isNull();
+        assertThat(cache.isSuspended()).isTrue();
+    }
+
+    @Test
+    void readsStartedBeforeReconnectAreDiscarded() {
+        cache.suspend();
+        long stampedWhileDown = cache.stamp();
+        cache.resume();
+
+        cache.putIfCurrent("101", 10.0, stampedWhileDown);
+        assertThat(cache.get("101")).isNull();
+
+        cache.putIfCurrent("101", 11.0, cache.stamp());
+        assertThat(cache.get("101")).isEqualTo(11.0);
+    }
+}
@@ -0,0 +1,85 @@
+package com.mylearning.productaggregatorservice.service;
+
+import com.mylearning.productaggregatorservice.shard.DomainShards;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Subscribes to a local stand-in for a domain price stream. The first connection delivers a
+ * heartbeat and one change, then drops; the second stays silent until the test lets its
+ * heartbeat through.
+ */
+class PriceStreamServiceTest {
+
+    private static final String HEARTBEAT = "{\"id\":null,\"price\":0.0,\"changedAt\":\"2025-01-01T00:00:00Z\"}\n";
+    private static final String CHANGE = "{\"id\":\"101\",\"price\":450.0,\"changedAt\":\"2025-01-01T00:00:01Z\"}\n";
+
+    private final AtomicInteger connections = new AtomicInteger();
+    private final Sinks.One<String> secondHeartbeat = Sinks.one();
+    private final PriceCache cache = new PriceCache(Duration.ofMinutes(5));
+    private DisposableServer server;
+    private PriceStreamService service;
+
+    @BeforeEach
+    void start() {
+        server = HttpServer.create()
+                .port(0)
+                .route(routes -> routes.get("/api/products/prices/stream", (request, response) -> response
+                        .header("Content-Type", "application/x-ndjson")
+                        .sendString(connections.incrementAndGet() == 1
+                                ? Flux.just(HEARTBEAT, CHANGE)
+                                : secondHeartbeat.asMono().concatWith(Flux.never()))
+                        .then()))
+                .bindNow();
+        String url = "http://localhost:" + server.port() + "/api/products";
+        DomainShards shards = new DomainShards(WebClient.builder(), CircuitBreakerRegistry.ofDefaults(),
+                ObservationRegistry.NOOP, List.of(), List.of(url), 128, 5, Duration.ofSeconds(10));
+        service = new PriceStreamService(shards, cache, true, 16);
+    }
+
+    @AfterEach
+    void stop() {
+        service.stop();
+        server.disposeNow();
+    }
+
+    @Test
+    void cacheIsOnlyTrustedAgainOnceTheNewStreamSendsItsHeartbeat() throws InterruptedException {
+        service.start();
+        await(() -> connections.get() == 2);
+
+        // Reconnected at the TCP level, but nothing has proved the stream is delivering yet.
+        Thread.sleep(1_500);
+        assertThat(cache.isSuspended()).isTrue();
+        assertThat(cache.get("101")).isNull();
+
+        secondHeartbeat.tryEmitValue(HEARTBEAT);
+        await(() -> !cache.isSuspended());
+
+        cache.putIfCurrent("101", 450.0, cache.stamp());
+        assertThat(cache.get("101")).isEqualTo(450.0);
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("timed out waiting").isLessThan(deadline);
+            Thread.sleep(20);
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package com.mylearning.productaggregatorservice.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.mylearning.productaggregatorservice.dto.QuoteLine;
+import com.mylearning.productaggregatorservice.dto.QuoteLineResult;
+import com.mylearning.productaggregatorservice.dto.QuoteRequest;
+import com.mylearning.productaggregatorservice.dto.QuoteResponse;
+import com.mylearning.productaggregatorservice.exception.InvalidQuoteException;
+import com.mylearning.productaggregatorservice.exception.ProductNotFoundException;
+import com.mylearning.productaggregatorservice.lookup.KnownProductIds;
+import com.mylearning.productaggregatorservice.mirror.CatalogMirror;
+import com.mylearning.productaggregatorservice.shard.DomainShards;
+import com.mylearning.productcommon.shard.ConsistentHashRing;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.retry.RetryRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Routes reads and quotes across two local stand-ins for domain shards. Each stand-in prices a
+ * product at a tenth of its numeric id and records the ids it was asked about, or rejects every
+ * quote with a 400.
+ */
+class ProductAggregatorServiceTest {
+
+    private static final int SHARDS = 2;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final ConsistentHashRing ring = new ConsistentHashRing(SHARDS, 128);
+    private final List<DisposableServer> servers = new ArrayList<>();
+    private final List<List<String>> seen = new ArrayList<>();
+    private final AtomicBoolean rejectQuotes = new AtomicBoolean();
+    private DomainShards shards;
+    private ProductAggregatorService service;
+
+    @BeforeEach
+    void start() {
+        List<String> urls = new ArrayList<>();
+        for (int shard = 0; shard < SHARDS; shard++) {
+            urls.add(startShard());
+        }
+        // Breakers configured as in application.properties: client errors are not failures.
+        CircuitBreakerRegistry breakers = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .ignoreExceptions(ProductNotFoundException.class, InvalidQuoteException.class)
+                .build());
+        shards = new DomainShards(WebClient.builder(), breakers,
+                ObservationRegistry.NOOP, urls, List.of(), 128, 5, Duration.ofSeconds(10));
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        service = new ProductAggregatorService(shards, RetryRegistry.ofDefaults(), new PriceCache(Duration.ofMinutes(5)),
+                new KnownProductIds(shards, false, Duration.ofMinutes(1), meterRegistry),
+                new CatalogMirror(shards, false, Duration.ofMinutes(1), Duration.ofMinutes(1), meterRegistry));
+    }
+
+    @AfterEach
+    void stop() {
+        servers.forEach(DisposableServer::disposeNow);
+    }
+
+    @Test
+    void readsGoToTheShardThatOwnsTheId() {
+        for (int id = 100; id < 120; id++) {
+            assertThat(service.getProductPrice(String.valueOf(id)).block()).isEqualTo(id / 10.0);
+        }
+
+        for (int shard = 0; shard < SHARDS; shard++) {
+            int owner = shard;
+            assertThat(seen.get(shard)).isNotEmpty().allMatch(id -> ring.ownerOf(id) == owner);
+        }
+    }
+
+    @Test
+    void quoteIsSplitByShardAndMergedInRequestOrder() {
+        List<QuoteLine> lines = IntStream.range(0, 200)
+                .mapToObj(i -> new QuoteLine(String.valueOf(1_000 + (i * 37) % 500), 1 + i % 3))
+                .toList();
+
+        QuoteResponse quote = service.getQuote(new QuoteRequest(lines)).block();
+
+        assertThat(quote.getLines()).extracting(QuoteLineResult::getId)
+                .containsExactlyElementsOf(lines.stream().map(QuoteLine::getId).toList());
+        assertThat(quote.getLines()).extracting(QuoteLineResult::getQuantity)
+                .containsExactlyElementsOf(lines.stream().map(QuoteLine::getQuantity).toList());
+        double expected = lines.stream().mapToDouble(line -> Integer.parseInt(line.getId()) / 10.0 * line.getQuantity()).sum();
+        assertThat(quote.getTotal()).isCloseTo(expected, within(1e-6));
+        for (int shard = 0; shard < SHARDS; shard++) {
+            int owner = shard;
+            assertThat(seen.get(shard)).isNotEmpty().allMatch(id -> ring.ownerOf(id) == owner);
+        }
+    }
+
+    @Test
+    void quoteTheDomainRejectsIsAClientErrorThatBreakersIgnore() {
+        rejectQuotes.set(true);
+        List<QuoteLine> lines = List.of(new QuoteLine("1000", 1), new QuoteLine("1001", 1));
+
+        for (int i = 0; i < 10; i++) {
+            assertThatThrownBy(() -> service.getQuote(new QuoteRequest(lines)).block())
+                    .isInstanceOf(InvalidQuoteException.class);
+        }
+
+        for (int shard = 0; shard < SHARDS; shard++) {
+            assertThat(shards.pool(shard).replicas()).allSatisfy(replica -> {
+                assertThat(replica.circuitBreaker().getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+                assertThat(replica.circuitBreaker().getMetrics().getNumberOfFailedCalls()).isZero();
+            });
+        }
+    }
+
+    private String startShard() {
+        List<String> ids = new CopyOnWriteArrayList<>();
+        seen.add(ids);
+        DisposableServer server = HttpServer.create()
+                .port(0)
+                .route(routes -> routes
+                        .get("/api/products/{id}/price", (request, response) -> {
+                            String id = request.param("id");
+                            ids.add(id);
+                            return response.header("Content-Type", "application/json")
+                                    .sendString(Mono.just(String.valueOf(Integer.parseInt(id) / 10.0)))
+                                    .then();
+                        })
+                        .post("/api/products/quote", (request, response) -> rejectQuotes.get()
+                                ? response.status(400).send()
+                                : request.receive().aggregate().asString()
+                                        .flatMap(body -> response.header("Content-Type", "application/json")
+                                                .sendString(Mono.just(quote(body, ids)))
+                                                .then())))
+                .bindNow();
+        servers.add(server);
+        return "http://localhost:" + server.port() + "/api/products";
+    }
+
+    /** Prices the lines in the order received, as the domain does. */
+    private String quote(String body, List<String> ids) {
+        try {
+            ArrayNode results = mapper.createArrayNode();
+            double total = 0;
+            for (JsonNode line : mapper.readTree(body).get("lines")) {
+                String id = line.get("id").asText();
+                int quantity = line.get("quantity").asInt();
+                double unitPrice = Integer.parseInt(id) / 10.0;
+                ids.add(id);
+                total += unitPrice * quantity;
+                results.addObject().put("id", id).put("quantity", quantity)
+                        .put("unitPrice", unitPrice).put("lineTotal", unitPrice * quantity);
+            }
+            ObjectNode response = mapper.createObjectNode();
+            response.set("lines", results);
+            response.put("total", total);
+            return mapper.writeValueAsString(response);
+        } catch (Exception ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
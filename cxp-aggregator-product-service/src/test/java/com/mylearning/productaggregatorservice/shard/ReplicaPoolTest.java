@@ -0,0 +1,186 @@
+package com.mylearning.productaggregatorservice.shard;
+
+import com.mylearning.productaggregatorservice.exception.InvalidQuoteException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationHandler;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the balancer against several local stand-ins for domain replicas that answer
+ * {@code GET /api/products/{id}/price}, one of them artificially slowed or failing.
+ */
+class ReplicaPoolTest {
+
+    private final List<DisposableServer> servers = new ArrayList<>();
+    private final Map<String, AtomicInteger> hits = new ConcurrentHashMap<>();
+
+    @AfterEach
+    void stopServers() {
+        servers.forEach(DisposableServer::disposeNow);
+    }
+
+    @Test
+    void slowReplicaReceivesLittleTraffic() {
+        String fast1 = startReplica(Duration.ofMillis(5), 200);
+        String fast2 = startReplica(Duration.ofMillis(5), 200);
+        String slow = startReplica(Duration.ofMillis(150), 200);
+        ReplicaPool pool = pool(fast1, fast2, slow);
+
+        // Let every replica get a latency sample before measuring.
+        send(pool, 30, 1);
+        hits.values().forEach(counter -> counter.set(0));
+        send(pool, 600, 16);
+
+        int total = hits.values().stream().mapToInt(AtomicInteger::get).sum();
+        String counts = String.format("hits: fast1=%d fast2=%d slow=%d", count(fast1), count(fast2), count(slow));
+        assertThat(total).as(counts).isEqualTo(600);
+        assertThat(count(slow)).as(counts).isLessThan(total / 10);
+    }
+
+    @Test
+    void failingReplicaIsEjected() {
+        String healthy1 = startReplica(Duration.ZERO, 200);
+        String healthy2 = startReplica(Duration.ZERO, 200);
+        String broken = startReplica(Duration.ZERO, 503);
+        ReplicaPool pool = pool(healthy1, healthy2, broken);
+
+        send(pool, 100, 4);
+        int hitsWhenEjected = count(broken);
+        send(pool, 300, 4);
+
+        assertThat(hitsWhenEjected).isGreaterThanOrEqualTo(3);
+        assertThat(count(broken)).isEqualTo(hitsWhenEjected);
+    }
+
+    @Test
+    void callThatThrowsWhileBuildingDoesNotLeaveReplicaLoaded() {
+        String url = startReplica(Duration.ZERO, 200);
+        ReplicaPool pool = pool(url);
+
+        attempt(pool.execute(client -> {
+            throw new IllegalStateException("request could not be built");
+        }));
+
+        assertThat(pool.replicas().get(0).outstanding()).isZero();
+    }
+
+    @Test
+    void rejectedQuotesDoNotEjectTheReplica() {
+        String url = startReplica(Duration.ZERO, 200);
+        ReplicaPool pool = pool(url);
+
+        for (int i = 0; i < 10; i++) {
+            attempt(pool.execute(client -> Mono.error(new InvalidQuoteException("Domain rejected the quote: 400"))));
+        }
+
+        assertThat(pool.replicas().get(0).isAvailable(System.nanoTime())).isTrue();
+    }
+
+    @Test
+    void everyAttemptAndRejectionIsObserved() throws InterruptedException {
+        String broken = startReplica(Duration.ZERO, 503);
+        List<Observation.Context> stopped = new CopyOnWriteArrayList<>();
+        ObservationRegistry observations = ObservationRegistry.create();
+        observations.observationConfig().observationHandler(new ObservationHandler<Observation.Context>() {
+            @Override
+            public void onStop(Observation.Context context) {
+                stopped.add(context);
+            }
+
+            @Override
+            public boolean supportsContext(Observation.Context context) {
+                return true;
+            }
+        });
+        CircuitBreaker breaker = CircuitBreakerRegistry.ofDefaults().circuitBreaker(broken);
+        ReplicaPool pool = new ReplicaPool(List.of(new Replica(broken, WebClient.builder().baseUrl(broken).build(), breaker)),
+                3, Duration.ofMinutes(1), observations);
+
+        attempt(pool.execute(client -> client.get().uri("/{id}/price", "101").retrieve().bodyToMono(Double.class))
+                .retry(1));
+        // The last attempt's observation stops on the event loop just after the error reaches block().
+        await(() -> stopped.size() == 2);
+        breaker.transitionToOpenState();
+        attempt(pool.execute(client -> client.get().uri("/{id}/price", "101").retrieve().bodyToMono(Double.class)));
+
+        assertThat(stopped).extracting(Observation.Context::getName).containsOnly("domain.call");
+        assertThat(stopped).extracting(context -> context.getLowCardinalityKeyValue("outcome").getValue())
+                .containsExactly("http-503", "http-503", "rejected");
+        assertThat(stopped).extracting(context -> context.getLowCardinalityKeyValue("replica").getValue())
+                .containsOnly(broken);
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("timed out waiting").isLessThan(deadline);
+            Thread.sleep(20);
+        }
+    }
+
+    private static void attempt(Mono<Double> call) {
+        call.onErrorResume(ex -> Mono.empty()).block(Duration.ofSeconds(10));
+    }
+
+    private ReplicaPool pool(String... urls) {
+        CircuitBreakerRegistry registry = CircuitBreakerRegistry.ofDefaults();
+        List<Replica> replicas = new ArrayList<>();
+        for (String url : urls) {
+            replicas.add(new Replica(url, WebClient.builder().baseUrl(url).build(), registry.circuitBreaker(url)));
+        }
+        return new ReplicaPool(replicas, 3, Duration.ofMinutes(1));
+    }
+
+    private void send(ReplicaPool pool, int requests, int concurrency) {
+        Flux.range(0, requests)
+                .flatMap(i -> pool.execute(client -> client.get()
+                                .uri("/{id}/price", "101")
+                                .retrieve()
+                                .bodyToMono(Double.class))
+                        .onErrorResume(ex -> Mono.empty()), concurrency)
+                .blockLast(Duration.ofSeconds(60));
+    }
+
+    private String startReplica(Duration delay, int status) {
+        AtomicInteger counter = new AtomicInteger();
+        DisposableServer server = HttpServer.create()
+                .port(0)
+                .route(routes -> routes.get("/api/products/{id}/price", (request, response) -> {
+                    counter.incrementAndGet();
+                    return Mono.delay(delay)
+                            .then(response.status(status)
+                                    .header("Content-Type", "application/json")
+                                    .sendString(Mono.just("499.0"))
+                                    .then());
+                }))
+                .bindNow();
+        servers.add(server);
+        String url = "http://localhost:" + server.port() + "/api/products";
+        hits.put(url, counter);
+        return url;
+    }
+
+    private int count(String url) {
+        return hits.get(url).get();
+    }
+}
@@ -0,0 +1,68 @@
+package com.mylearning.productaggregatorservice.tracing;
+
+import brave.Span;
+import brave.Tracer;
+import brave.Tracing;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TracesEndpointTest {
+
+    private final SpanRingBuffer buffer = new SpanRingBuffer(8);
+    private final Tracing tracing = Tracing.newBuilder()
+            .localServiceName("aggregator")
+            .addSpanHandler(buffer)
+            .build();
+    private final Tracer tracer = tracing.tracer();
+    private final TracesEndpoint endpoint = new TracesEndpoint(buffer);
+
+    @AfterEach
+    void closeTracing() {
+        tracing.close();
+    }
+
+    @Test
+    void slowestTracesComeFirst() {
+        String fast = trace("GET /fast", 2_000, 1);
+        String slow = trace("GET /slow", 90_000, 2);
+
+        assertThat(endpoint.slowest(null, null))
+                .extracting(TracesEndpoint.TraceSummary::traceId)
+                .containsExactly(slow, fast);
+        assertThat(endpoint.slowest(50L, null))
+                .singleElement()
+                .satisfies(summary -> {
+                    assertThat(summary.rootName()).isEqualTo("GET /slow");
+                    assertThat(summary.durationMicros()).isEqualTo(90_000);
+                    assertThat(summary.spanCount()).isEqualTo(3);
+                });
+        assertThat(endpoint.trace(slow))
+                .extracting(RecordedSpan::name)
+                .containsExactly("GET /slow", "domain.call", "domain.call");
+    }
+
+    @Test
+    void oldestSpansAreOverwritten() {
+        String first = trace("GET /first", 1_000, 0);
+        for (int i = 0; i < 8; i++) {
+            trace("GET /later", 1_000, 0);
+        }
+
+        assertThat(buffer.snapshot()).hasSize(8);
+        assertThat(endpoint.trace(first)).isEmpty();
+    }
+
+    /* A server span with the given number of child spans, each a tenth of the root's duration. */
+    private String trace(String name, long durationMicros, int children) {
+        long start = 1_700_000_000_000_000L;
+        Span root = tracer.newTrace().name(name).kind(Span.Kind.SERVER).start(start);
+        for (int i = 0; i < children; i++) {
+            long childStart = start + (i + 1) * (durationMicros / 10);
+            tracer.newChild(root.context()).name("domain.call").start(childStart).finish(childStart + durationMicros / 10);
+        }
+        root.finish(start + durationMicros);
+        return root.context().traceIdString();
+    }
+}
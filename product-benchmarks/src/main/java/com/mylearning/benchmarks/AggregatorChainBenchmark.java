@@ -0,0 +1,109 @@
+package com.mylearning.benchmarks;
+
+import com.mylearning.productaggregatorservice.lookup.KnownProductIds;
+import com.mylearning.productaggregatorservice.mirror.CatalogMirror;
+import com.mylearning.productaggregatorservice.service.PriceCache;
+import com.mylearning.productaggregatorservice.service.ProductAggregatorService;
+import com.mylearning.productaggregatorservice.shard.DomainShards;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.retry.RetryConfig;
+import io.github.resilience4j.retry.RetryRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The aggregator's WebClient + circuit breaker + retry chain against an in-memory
+ * exchange function, so the numbers are the per-call overhead of the chain itself
+ * (operator assembly, body decoding, breaker bookkeeping) rather than the network.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AggregatorChainBenchmark {
+
+    private static final String PRODUCT_JSON =
+            "{\"id\":\"100\",\"name\":\"Phone\",\"description\":\"A phone\",\"price\":499.0}";
+
+    private ProductAggregatorService service;
+    private ProductAggregatorService failingService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        service = newService(HttpStatus.OK, CircuitBreakerRegistry.ofDefaults());
+        // Ignore the 500s so the breaker stays closed and every call walks the full error path.
+        CircuitBreakerRegistry neverOpens = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .ignoreExceptions(WebClientResponseException.class)
+                .build());
+        failingService = newService(HttpStatus.INTERNAL_SERVER_ERROR, neverOpens);
+    }
+
+    private static ProductAggregatorService newService(HttpStatus status, CircuitBreakerRegistry cbRegistry) {
+        WebClient.Builder builder = WebClient.builder().exchangeFunction(request -> {
+            String body = request.url().getPath().endsWith("/price") ? "499.0" : PRODUCT_JSON;
+            return Mono.just(ClientResponse.create(status)
+                    .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                    .body(body)
+                    .build());
+        });
+        DomainShards shards = new DomainShards(builder, cbRegistry, ObservationRegistry.NOOP, List.of(),
+                List.of("http://stub/api/products"), 128, 5, Duration.ofSeconds(10));
+        RetryRegistry retryRegistry = RetryRegistry.of(RetryConfig.custom()
+                .maxAttempts(3)
+                .waitDuration(Duration.ofSeconds(1))
+                .retryExceptions(IOException.class, WebClientRequestException.class)
+                .build());
+        // A zero TTL keeps every price lookup on the WebClient path.
+        PriceCache priceCache = new PriceCache(Duration.ZERO);
+        KnownProductIds knownIds = new KnownProductIds(shards, false, Duration.ofMinutes(1), new SimpleMeterRegistry());
+        CatalogMirror mirror = new CatalogMirror(shards, false, Duration.ofSeconds(1), Duration.ofSeconds(10), new SimpleMeterRegistry());
+        return new ProductAggregatorService(shards, retryRegistry, priceCache, knownIds, mirror);
+    }
+
+    @Benchmark
+    public Object getProduct() {
+        return service.getProduct("100").block();
+    }
+
+    @Benchmark
+    public Object getProductPrice() {
+        return service.getProductPrice("100").block();
+    }
+
+    @Benchmark
+    public void getProductDownstreamError(Blackhole bh) {
+        try {
+            failingService.getProduct("100").block();
+        } catch (RuntimeException ex) {
+            bh.consume(ex);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.mylearning.benchmarks;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mylearning.productaggregatorservice.dto.ApiResponse;
+import com.mylearning.productaggregatorservice.dto.ProductDto;
+import com.mylearning.productaggregatorservice.json.ProductJsonModule;
+import com.mylearning.productdomainservice.model.Product;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * What the aggregator serializes and parses per request: its envelope (apiSuccess/timeStamp/
+ * data/errors) on the way out, and the domain service's bare products on the way in.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AggregatorEnvelopeBenchmark {
+
+    static final int LIST_SIZE = 50;
+
+    /** reflective: Boot's default bean codecs; tuned: with the service's ProductJsonModule, as deployed. */
+    @Param({"reflective", "tuned"})
+    public String codec;
+
+    private ObjectMapper mapper;
+    private JavaType listType;
+    private ApiResponse<Double> price;
+    private ApiResponse<ProductDto> product;
+    private ApiResponse<List<ProductDto>> list;
+    private byte[] domainProductJson;
+    private byte[] domainListJson;
+
+    @Setup
+    public void setUp() throws IOException {
+        mapper = "tuned".equals(codec) ? JsonMappers.bootDefault(new ProductJsonModule()) : JsonMappers.bootDefault();
+        listType = mapper.getTypeFactory().constructCollectionType(List.class, ProductDto.class);
+
+        List<ProductDto> products = new ArrayList<>();
+        for (int i = 0; i < LIST_SIZE; i++) {
+            products.add(new ProductDto(Catalogs.id(i), "Product " + i, null, 499.0 + i));
+        }
+        price = envelope(499.0);
+        product = envelope(products.get(0));
+        list = envelope(products);
+
+        // As the domain service sends them: its own Product type, no envelope.
+        List<Product> domainProducts = Catalogs.products(LIST_SIZE);
+        ObjectMapper domainMapper = JsonMappers.bootDefault();
+        domainProductJson = domainMapper.writeValueAsBytes(domainProducts.get(0));
+        domainListJson = domainMapper.writeValueAsBytes(domainProducts);
+    }
+
+    private static <T> ApiResponse<T> envelope(T data) {
+        return ApiResponse.<T>builder()
+                .apiSuccess(true)
+                .timeStamp(Instant.now())
+                .data(data)
+                .errors(null)
+                .build();
+    }
+
+    @Benchmark
+    public byte[] encodePrice() throws IOException {
+        return mapper.writeValueAsBytes(price);
+    }
+
+    @Benchmark
+    public byte[] encodeProduct() throws IOException {
+        return mapper.writeValueAsBytes(product);
+    }
+
+    @Benchmark
+    public byte[] encodeProductList() throws IOException {
+        return mapper.writeValueAsBytes(list);
+    }
+
+    @Benchmark
+    public Object decodeDomainProduct() throws IOException {
+        return mapper.readValue(domainProductJson, ProductDto.class);
+    }
+
+    @Benchmark
+    public Object decodeDomainProductList() throws IOException {
+        return mapper.readValue(domainListJson, listType);
+    }
+}
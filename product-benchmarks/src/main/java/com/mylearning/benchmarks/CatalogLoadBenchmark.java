@@ -0,0 +1,67 @@
+package com.mylearning.benchmarks;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mylearning.productdomainservice.model.Product;
+import com.mylearning.productdomainservice.service.ProductService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Catalog start-up cost: parsing a products.json of the given size, and streaming it into
+ * the id index, price array and id filter as the domain service does. Also the bundled data/products.json.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CatalogLoadBenchmark {
+
+    private static final TypeReference<List<Product>> PRODUCT_LIST = new TypeReference<>() {};
+
+    @Param({"1000", "100000"})
+    public int catalogSize;
+
+    private ObjectMapper mapper;
+    private byte[] json;
+    private ProductService service;
+
+    @Setup
+    public void setUp() throws IOException {
+        mapper = new ObjectMapper();
+        json = mapper.writeValueAsBytes(Catalogs.products(catalogSize));
+        service = new ProductService(0, 1, 128, 0.01);
+    }
+
+    @Benchmark
+    public List<Product> parse() throws IOException {
+        return mapper.readValue(json, PRODUCT_LIST);
+    }
+
+    @Benchmark
+    public ProductService parseAndIndex() throws IOException {
+        service.loadCatalog(mapper.readerFor(Product.class).<Product>readValues(json));
+        return service;
+    }
+
+    @Benchmark
+    public ProductService loadBundledProductsJson() {
+        service.loadData();
+        return service;
+    }
+}
@@ -0,0 +1,39 @@
+package com.mylearning.benchmarks;
+
+import com.mylearning.productdomainservice.model.Product;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/** Synthetic catalogs shaped like data/products.json, deterministic per size. */
+final class Catalogs {
+
+    private static final long SEED = 42;
+
+    private Catalogs() {
+    }
+
+    static String id(int i) {
+        return Integer.toString(100 + i);
+    }
+
+    static List<Product> products(int size) {
+        SplittableRandom random = new SplittableRandom(SEED);
+        List<Product> products = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            products.add(new Product(id(i), "Product " + i, 10 + random.nextInt(100_000) / 100.0));
+        }
+        return products;
+    }
+
+    /** A power-of-two sized sample of existing ids, so callers can cycle with a mask. */
+    static String[] sampleIds(int catalogSize, int count) {
+        SplittableRandom random = new SplittableRandom(SEED);
+        String[] ids = new String[count];
+        for (int i = 0; i < count; i++) {
+            ids[i] = id(random.nextInt(catalogSize));
+        }
+        return ids;
+    }
+}
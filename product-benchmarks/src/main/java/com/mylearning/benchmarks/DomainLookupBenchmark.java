@@ -0,0 +1,63 @@
+package com.mylearning.benchmarks;
+
+import com.mylearning.productdomainservice.model.Product;
+import com.mylearning.productdomainservice.service.ProductService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.TimeUnit;
+
+/** Domain {@code ProductService} lookups, as the controller calls them, at several catalog sizes. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DomainLookupBenchmark {
+
+    private static final int SAMPLE = 1024;
+
+    @Param({"1000", "100000", "1000000"})
+    public int catalogSize;
+
+    private ProductService service;
+    private String[] ids;
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        service = new ProductService(0, 1, 128, 0.01);
+        service.loadCatalog(Catalogs.products(catalogSize));
+        ids = Catalogs.sampleIds(catalogSize, SAMPLE);
+    }
+
+    private String nextId() {
+        return ids[cursor++ & (SAMPLE - 1)];
+    }
+
+    @Benchmark
+    public Product getProductById() {
+        return service.getProductById(nextId()).block();
+    }
+
+    @Benchmark
+    public Double getPriceById() {
+        return service.getPriceById(nextId()).block();
+    }
+
+    @Benchmark
+    public Product getUnknownProduct() {
+        return service.getProductById("unknown").onErrorResume(ex -> Mono.empty()).block();
+    }
+}
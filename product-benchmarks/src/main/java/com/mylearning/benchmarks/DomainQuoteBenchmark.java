@@ -0,0 +1,61 @@
+package com.mylearning.benchmarks;
+
+import com.mylearning.productdomainservice.dto.QuoteLine;
+import com.mylearning.productdomainservice.dto.QuoteRequest;
+import com.mylearning.productdomainservice.dto.QuoteResponse;
+import com.mylearning.productdomainservice.service.ProductService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Domain {@code priceQuote} over a 100k-product catalog, from a one-line cart up to the
+ * {@link QuoteRequest#MAX_LINES} cap. This runs on the event loop, so the largest cart's time
+ * is how long one quote can hold it.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DomainQuoteBenchmark {
+
+    private static final int CATALOG_SIZE = 100_000;
+
+    @Param({"1", "100", "1000"})
+    public int lines;
+
+    private ProductService service;
+    private QuoteRequest request;
+
+    @Setup
+    public void setUp() {
+        service = new ProductService(0, 1, 128, 0.01);
+        service.loadCatalog(Catalogs.products(CATALOG_SIZE));
+
+        String[] ids = Catalogs.sampleIds(CATALOG_SIZE, lines);
+        List<QuoteLine> cart = new ArrayList<>(lines);
+        for (int i = 0; i < lines; i++) {
+            cart.add(new QuoteLine(ids[i], 1 + i % 3));
+        }
+        request = new QuoteRequest(cart);
+    }
+
+    @Benchmark
+    public QuoteResponse priceQuote() {
+        return service.priceQuote(request);
+    }
+}
@@ -0,0 +1,27 @@
+package com.mylearning.benchmarks;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/** ObjectMapper configured the way Spring Boot's JacksonAutoConfiguration configures the services' mapper. */
+final class JsonMappers {
+
+    private JsonMappers() {
+    }
+
+    static ObjectMapper bootDefault() {
+        return Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+    }
+
+    /** The service mapper as it runs, with its hand-written codec module installed. */
+    static ObjectMapper bootDefault(Module serviceModule) {
+        return Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .modulesToInstall(serviceModule)
+                .build();
+    }
+}
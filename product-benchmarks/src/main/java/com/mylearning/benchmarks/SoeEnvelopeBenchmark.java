@@ -0,0 +1,129 @@
+package com.mylearning.benchmarks;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+import com.mylearning.productservice.dto.ApiResponse;
+import com.mylearning.productservice.dto.ProductDto;
+import com.mylearning.productservice.json.ProductJsonModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * What SOE serializes and parses per request: its envelope (timestamp/status/path/message/data)
+ * on the way out, and the aggregator's envelope on the way in.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SoeEnvelopeBenchmark {
+
+    /** reflective: Boot's default bean codecs; tuned: with the service's ProductJsonModule, as deployed. */
+    @Param({"reflective", "tuned"})
+    public String codec;
+
+    private ObjectMapper mapper;
+    private JavaType productType;
+    private JavaType listType;
+    private JavaType priceType;
+    private ApiResponse<Double> price;
+    private ApiResponse<ProductDto> product;
+    private ApiResponse<List<ProductDto>> list;
+    private byte[] aggregatorPriceJson;
+    private byte[] aggregatorProductJson;
+    private byte[] aggregatorListJson;
+
+    @Setup
+    public void setUp() throws IOException {
+        mapper = "tuned".equals(codec) ? JsonMappers.bootDefault(new ProductJsonModule()) : JsonMappers.bootDefault();
+        TypeFactory types = mapper.getTypeFactory();
+        priceType = types.constructParametricType(ApiResponse.class, Double.class);
+        productType = types.constructParametricType(ApiResponse.class, ProductDto.class);
+        listType = types.constructParametricType(ApiResponse.class,
+                types.constructCollectionType(List.class, ProductDto.class));
+
+        List<ProductDto> products = new ArrayList<>();
+        for (int i = 0; i < AggregatorEnvelopeBenchmark.LIST_SIZE; i++) {
+            products.add(new ProductDto(Catalogs.id(i), "Product " + i, 499.0 + i));
+        }
+        price = envelope("/api/products/100/price", "Price fetched", 499.0);
+        product = envelope("/api/products/100/details", "Product fetched", products.get(0));
+        list = envelope("/api/products", "All products fetched", products);
+
+        // As the aggregator sends them: its own envelope and ProductDto.
+        List<com.mylearning.productaggregatorservice.dto.ProductDto> upstream = new ArrayList<>();
+        for (int i = 0; i < AggregatorEnvelopeBenchmark.LIST_SIZE; i++) {
+            upstream.add(new com.mylearning.productaggregatorservice.dto.ProductDto(Catalogs.id(i), "Product " + i, null, 499.0 + i));
+        }
+        ObjectMapper aggregatorMapper = JsonMappers.bootDefault();
+        aggregatorPriceJson = aggregatorMapper.writeValueAsBytes(aggregatorEnvelope(499.0));
+        aggregatorProductJson = aggregatorMapper.writeValueAsBytes(aggregatorEnvelope(upstream.get(0)));
+        aggregatorListJson = aggregatorMapper.writeValueAsBytes(aggregatorEnvelope(upstream));
+    }
+
+    private static <T> com.mylearning.productaggregatorservice.dto.ApiResponse<T> aggregatorEnvelope(T data) {
+        return com.mylearning.productaggregatorservice.dto.ApiResponse.<T>builder()
+                .apiSuccess(true)
+                .timeStamp(Instant.now())
+                .data(data)
+                .build();
+    }
+
+    private static <T> ApiResponse<T> envelope(String path, String message, T data) {
+        return ApiResponse.<T>builder()
+                .timestamp(Instant.now())
+                .status(200)
+                .path(path)
+                .message(message)
+                .data(data)
+                .build();
+    }
+
+    @Benchmark
+    public byte[] encodePrice() throws IOException {
+        return mapper.writeValueAsBytes(price);
+    }
+
+    @Benchmark
+    public byte[] encodeProduct() throws IOException {
+        return mapper.writeValueAsBytes(product);
+    }
+
+    @Benchmark
+    public byte[] encodeProductList() throws IOException {
+        return mapper.writeValueAsBytes(list);
+    }
+
+    @Benchmark
+    public Object decodeAggregatorPrice() throws IOException {
+        return mapper.readValue(aggregatorPriceJson, priceType);
+    }
+
+    @Benchmark
+    public Object decodeAggregatorProduct() throws IOException {
+        return mapper.readValue(aggregatorProductJson, productType);
+    }
+
+    @Benchmark
+    public Object decodeAggregatorProductList() throws IOException {
+        return mapper.readValue(aggregatorListJson, listType);
+    }
+}
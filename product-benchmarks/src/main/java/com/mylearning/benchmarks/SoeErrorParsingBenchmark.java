@@ -0,0 +1,73 @@
+package com.mylearning.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.mylearning.productservice.service.AggregatorErrorParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SOE's translation of aggregator failures into AggregatorUnavailableException.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SoeErrorParsingBenchmark {
+
+    private static final String AGGREGATOR_ERROR = """
+            {"apiSuccess":false,"timeStamp":"2025-01-01T00:00:00Z","data":null,\
+            "errors":[{"code":"DOWNSTREAM_ERROR","message":"Failed to fetch product 100","fieldErrors":null}]}""";
+    private static final String HTML_ERROR = "<html><body><h1>502 Bad Gateway</h1></body></html>";
+
+    private AggregatorErrorParser parser;
+    private WebClientResponseException structured;
+    private WebClientResponseException unparseable;
+    private IOException transport;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper mapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        parser = new AggregatorErrorParser(mapper);
+        structured = WebClientResponseException.create(503, "Service Unavailable", HttpHeaders.EMPTY,
+                AGGREGATOR_ERROR.getBytes(StandardCharsets.UTF_8), StandardCharsets.UTF_8);
+        unparseable = WebClientResponseException.create(502, "Bad Gateway", HttpHeaders.EMPTY,
+                HTML_ERROR.getBytes(StandardCharsets.UTF_8), StandardCharsets.UTF_8);
+        transport = new ConnectException("Connection refused");
+    }
+
+    @Benchmark
+    public Object structuredErrorBody() {
+        return parser.toAggregatorUnavailable("product 100", structured);
+    }
+
+    @Benchmark
+    public Object unparseableErrorBody() {
+        return parser.toAggregatorUnavailable("product 100", unparseable);
+    }
+
+    @Benchmark
+    public Object transportError() {
+        return parser.toAggregatorUnavailable("product 100", transport);
+    }
+}
@@ -0,0 +1,99 @@
+package com.mylearning.productcommon.lookup;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+
+/**
+ * Bloom filter over product ids. "Not contained" is definite; "contained" may be a false
+ * positive at roughly the rate the filter was sized for. The domain service builds it and
+ * the aggregator rebuilds it from the shipped bits, so both sides must hash identically.
+ */
+public final class BloomFilter {
+
+    private final long[] bits;
+    private final int bitCount;
+    private final int hashCount;
+
+    private BloomFilter(long[] bits, int bitCount, int hashCount) {
+        this.bits = bits;
+        this.bitCount = bitCount;
+        this.hashCount = hashCount;
+    }
+
+    public static BloomFilter of(Collection<String> ids, double falsePositiveRate) {
+        int n = Math.max(1, ids.size());
+        double ln2 = Math.log(2);
+        int bitCount = (int) Math.max(64, Math.ceil(-n * Math.log(falsePositiveRate) / (ln2 * ln2)));
+        int hashCount = (int) Math.max(1, Math.round((double) bitCount / n * ln2));
+        BloomFilter filter = new BloomFilter(new long[(bitCount + 63) / 64], bitCount, hashCount);
+        ids.forEach(filter::put);
+        return filter;
+    }
+
+    public static BloomFilter fromBytes(byte[] bytes, int bitCount, int hashCount) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        long[] bits = new long[bytes.length / Long.BYTES];
+        for (int i = 0; i < bits.length; i++) {
+            bits[i] = buffer.getLong();
+        }
+        if ((long) bits.length * 64 < bitCount) {
+            throw new IllegalArgumentException("Filter has fewer bits than declared");
+        }
+        return new BloomFilter(bits, bitCount, hashCount);
+    }
+
+    public byte[] toBytes() {
+        ByteBuffer buffer = ByteBuffer.allocate(bits.length * Long.BYTES);
+        for (long word : bits) {
+            buffer.putLong(word);
+        }
+        return buffer.array();
+    }
+
+    public int bitCount() {
+        return bitCount;
+    }
+
+    public int hashCount() {
+        return hashCount;
+    }
+
+    private void put(String id) {
+        long hash = hash(id);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < hashCount; i++) {
+            int index = Math.floorMod(h1 + i * h2, bitCount);
+            bits[index >>> 6] |= 1L << index;
+        }
+    }
+
+    public boolean mightContain(String id) {
+        long hash = hash(id);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < hashCount; i++) {
+            int index = Math.floorMod(h1 + i * h2, bitCount);
+            if ((bits[index >>> 6] & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /* 64-bit FNV-1a with the MurmurHash3 finalizer; split into two 32-bit hashes (Kirsch-Mitzenmacher). */
+    private static long hash(String id) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : id.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b & 0xff;
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
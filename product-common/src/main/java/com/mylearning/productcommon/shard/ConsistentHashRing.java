@@ -0,0 +1,77 @@
+package com.mylearning.productcommon.shard;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Consistent-hash ring over shards named {@code shard-0 .. shard-(n-1)}, each placed at
+ * a number of virtual-node points. The domain service and the aggregator must build the
+ * ring with the same shard count and virtual-node count to agree on ownership.
+ *
+ * <p>Growing from n to n+1 shards only moves the keys the new shard now owns
+ * (about 1/(n+1) of the catalog); no key moves between existing shards.
+ */
+public final class ConsistentHashRing {
+
+    private final long[] points;
+    private final int[] owners;
+    private final int shardCount;
+
+    public ConsistentHashRing(int shardCount, int virtualNodes) {
+        if (shardCount < 1 || virtualNodes < 1) {
+            throw new IllegalArgumentException("shardCount and virtualNodes must be positive");
+        }
+        this.shardCount = shardCount;
+
+        int size = shardCount * virtualNodes;
+        long[] hashes = new long[size];
+        int[] shards = new int[size];
+        Integer[] order = new Integer[size];
+        for (int shard = 0, i = 0; shard < shardCount; shard++) {
+            for (int vnode = 0; vnode < virtualNodes; vnode++, i++) {
+                hashes[i] = hash("shard-" + shard + "#" + vnode);
+                shards[i] = shard;
+                order[i] = i;
+            }
+        }
+        Arrays.sort(order, (a, b) -> Long.compare(hashes[a], hashes[b]));
+
+        this.points = new long[size];
+        this.owners = new int[size];
+        for (int i = 0; i < size; i++) {
+            points[i] = hashes[order[i]];
+            owners[i] = shards[order[i]];
+        }
+    }
+
+    public int shardCount() {
+        return shardCount;
+    }
+
+    /** Index of the shard owning the key: the first ring point at or after the key's hash. */
+    public int ownerOf(String key) {
+        if (shardCount == 1) {
+            return 0;
+        }
+        int pos = Arrays.binarySearch(points, hash(key));
+        if (pos < 0) {
+            pos = -pos - 1;
+        }
+        return owners[pos == points.length ? 0 : pos];
+    }
+
+    /** 64-bit FNV-1a followed by the MurmurHash3 finalizer; stable across JVMs and services. */
+    static long hash(String key) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b & 0xff;
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,61 @@
+package com.mylearning.productcommon.lookup;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BloomFilterTest {
+
+    private static final int IDS = 100_000;
+
+    @Test
+    void everyAddedIdIsFound() {
+        List<String> ids = ids(0, IDS);
+        BloomFilter filter = BloomFilter.of(ids, 0.01);
+
+        assertThat(ids).allMatch(filter::mightContain);
+    }
+
+    @Test
+    void falsePositivesStayNearTheSizedRate() {
+        BloomFilter filter = BloomFilter.of(ids(0, IDS), 0.01);
+
+        long falsePositives = ids(IDS, 2 * IDS).stream().filter(filter::mightContain).count();
+
+        // Sized for 1%; allow for the variance of one sample.
+        assertThat(falsePositives).isBetween((long) (IDS * 0.005), (long) (IDS * 0.015));
+    }
+
+    @Test
+    void shippedBitsRebuildTheSameFilter() {
+        BloomFilter filter = BloomFilter.of(ids(0, IDS), 0.01);
+
+        BloomFilter copy = BloomFilter.fromBytes(filter.toBytes(), filter.bitCount(), filter.hashCount());
+
+        assertThat(copy.toBytes()).isEqualTo(filter.toBytes());
+        assertThat(ids(0, 2 * IDS)).allMatch(id -> copy.mightContain(id) == filter.mightContain(id));
+    }
+
+    @Test
+    void fewerBitsThanDeclaredAreRejected() {
+        BloomFilter filter = BloomFilter.of(ids(0, 1_000), 0.01);
+
+        assertThatThrownBy(() -> BloomFilter.fromBytes(new byte[8], filter.bitCount(), filter.hashCount()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void emptyCatalogRulesEverythingOut() {
+        BloomFilter filter = BloomFilter.of(List.of(), 0.01);
+
+        assertThat(ids(0, 1_000)).noneMatch(filter::mightContain);
+    }
+
+    private static List<String> ids(int from, int to) {
+        return IntStream.range(from, to).mapToObj(String::valueOf).toList();
+    }
+}
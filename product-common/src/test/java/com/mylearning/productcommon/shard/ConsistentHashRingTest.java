@@ -0,0 +1,64 @@
+package com.mylearning.productcommon.shard;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConsistentHashRingTest {
+
+    private static final int KEYS = 100_000;
+
+    @Test
+    void keysSpreadEvenlyAcrossShards() {
+        ConsistentHashRing ring = new ConsistentHashRing(4, 128);
+
+        int[] owned = new int[4];
+        for (int i = 0; i < KEYS; i++) {
+            owned[ring.ownerOf(String.valueOf(i))]++;
+        }
+
+        for (int shard = 0; shard < owned.length; shard++) {
+            assertThat(owned[shard])
+                    .as("keys on shard %d of %s", shard, Arrays.toString(owned))
+                    .isBetween(KEYS / 4 * 8 / 10, KEYS / 4 * 12 / 10);
+        }
+    }
+
+    @Test
+    void addingAShardOnlyMovesKeysToTheNewShard() {
+        ConsistentHashRing four = new ConsistentHashRing(4, 128);
+        ConsistentHashRing five = new ConsistentHashRing(5, 128);
+
+        int moved = 0;
+        for (int i = 0; i < KEYS; i++) {
+            String key = String.valueOf(i);
+            int before = four.ownerOf(key);
+            int after = five.ownerOf(key);
+            if (before != after) {
+                assertThat(after).as("new owner of moved key %s", key).isEqualTo(4);
+                moved++;
+            }
+        }
+
+        // About 1/5 of the keys belong to the new shard.
+        assertThat(moved).isBetween(KEYS / 5 * 8 / 10, KEYS / 5 * 12 / 10);
+    }
+
+    @Test
+    void singleShardOwnsEveryKey() {
+        ConsistentHashRing ring = new ConsistentHashRing(1, 128);
+
+        assertThat(ring.ownerOf("101")).isZero();
+        assertThat(ring.ownerOf("")).isZero();
+    }
+
+    @Test
+    void hashIsPinnedSoServicesBuiltAtDifferentTimesAgree() {
+        // The domain and the aggregator are deployed separately; a change here re-shards the catalog.
+        assertThat(ConsistentHashRing.hash("101")).isEqualTo(-1977432586733556688L);
+        assertThat(new ConsistentHashRing(3, 128).ownerOf("101")).isEqualTo(1);
+        assertThat(new ConsistentHashRing(3, 128).ownerOf("102")).isZero();
+    }
+}
@@ -1,12 +1,24 @@
 package com.mylearning.productdomainservice.controller;
 
+import com.mylearning.productdomainservice.dto.CatalogChangesDto;
+import com.mylearning.productdomainservice.dto.IdFilterDto;
+import com.mylearning.productdomainservice.dto.PriceChangeEvent;
+import com.mylearning.productdomainservice.dto.QuoteRequest;
+import com.mylearning.productdomainservice.dto.QuoteResponse;
 import com.mylearning.productdomainservice.model.Product;
 import com.mylearning.productdomainservice.service.ProductService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
@@ -31,4 +43,44 @@ public class ProductController {
     public Mono<Double> getProductPrice(@PathVariable String id) {
         return productService.getPriceById(id);
     }
+
+    /** Bloom filter of the ids this instance serves, so callers can answer definite misses locally. */
+    @GetMapping("/ids/filter")
+    public Mono<IdFilterDto> getIdFilter() {
+        return productService.getIdFilter();
+    }
+
+    /** Start point for a caller about to copy the catalog through {@link #getAllProducts()}. */
+    @GetMapping("/changes/watermark")
+    public Mono<CatalogChangesDto> getWatermark() {
+        return productService.getWatermark();
+    }
+
+    /** Products changed since the caller's watermark, so a mirror of the catalog can stay current. */
+    @GetMapping("/changes")
+    public Mono<CatalogChangesDto> getChanges(@RequestParam String instanceId,
+                                              @RequestParam long catalogVersion,
+                                              @RequestParam long since) {
+        return productService.getChangesSince(instanceId, catalogVersion, since);
+    }
+
+    @PostMapping("/quote")
+    public Mono<QuoteResponse> quote(@RequestBody QuoteRequest request) {
+        return productService.quote(request);
+    }
+
+    @PutMapping("/{id}/price")
+    public Mono<Product> updateProductPrice(@PathVariable String id, @RequestBody Double price) {
+        if (price == null || price <= 0) {
+            return Mono.error(new ResponseStatusException(HttpStatus.BAD_REQUEST, "Price must be positive"));
+        }
+        return productService.updatePrice(id, price);
+    }
+
+    /** NDJSON (or SSE, by Accept header) stream of price changes, open until the client disconnects. */
+    @GetMapping(value = "/prices/stream",
+            produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    public Flux<PriceChangeEvent> streamPriceChanges() {
+        return productService.getPriceChanges();
+    }
 }
@@ -0,0 +1,88 @@
+package com.mylearning.productdomainservice.deadline;
+
+import com.mylearning.productdomainservice.exception.DeadlineExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Establishes the request deadline from the {@value #HEADER} header (or the configured
+ * default), then bounds the whole handler chain by it. Requests that arrive with no
+ * budget left are rejected before any lookup is done. Both cases raise
+ * {@link DeadlineExceededException}, so they render like every other error from this service.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@Slf4j
+public class DeadlineWebFilter implements WebFilter {
+
+    public static final String HEADER = "X-Deadline-Remaining-Ms";
+    public static final String METRIC = "request.deadline.exceeded";
+    private static final String TIER = "domain";
+
+    private final Duration defaultBudget;
+    private final Duration maxBudget;
+    private final Counter expiredOnArrival;
+    private final Counter timedOut;
+
+    public DeadlineWebFilter(@Value("${request.deadline.default:0s}") Duration defaultBudget,
+                             @Value("${request.deadline.max:10s}") Duration maxBudget,
+                             MeterRegistry meterRegistry) {
+        this.defaultBudget = defaultBudget;
+        this.maxBudget = maxBudget;
+        this.expiredOnArrival = Counter.builder(METRIC).tag("tier", TIER).tag("reason", "arrival").register(meterRegistry);
+        this.timedOut = Counter.builder(METRIC).tag("tier", TIER).tag("reason", "timeout").register(meterRegistry);
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        // Long-lived streams are not request/response work and must not be cut off.
+        if (exchange.getRequest().getPath().value().endsWith("/stream")) {
+            return chain.filter(exchange);
+        }
+
+        Duration budget = resolveBudget(exchange.getRequest());
+        if (budget == null) {
+            return chain.filter(exchange);
+        }
+        if (budget.isZero() || budget.isNegative()) {
+            expiredOnArrival.increment();
+            return Mono.error(new DeadlineExceededException("Request arrived with no deadline budget left"));
+        }
+
+        Deadline deadline = Deadline.after(budget);
+        return chain.filter(exchange)
+                .timeout(budget)
+                .onErrorMap(TimeoutException.class, ex -> {
+                    timedOut.increment();
+                    log.warn("Deadline of {}ms exceeded for {}", budget.toMillis(), exchange.getRequest().getPath());
+                    return new DeadlineExceededException("Request deadline exceeded");
+                })
+                .contextWrite(ctx -> ctx.put(Deadline.class, deadline));
+    }
+
+    private Duration resolveBudget(ServerHttpRequest request) {
+        String header = request.getHeaders().getFirst(HEADER);
+        if (header != null) {
+            try {
+                Duration requested = Duration.ofMillis(Long.parseLong(header.trim()));
+                return requested.compareTo(maxBudget) > 0 ? maxBudget : requested;
+            } catch (NumberFormatException ex) {
+                log.debug("Ignoring malformed {} header: {}", HEADER, header);
+            }
+        }
+        return defaultBudget.isZero() ? null : defaultBudget;
+    }
+}
@@ -0,0 +1,24 @@
+package com.mylearning.productdomainservice.dto;
+
+import com.mylearning.productdomainservice.model.Product;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Products changed since the caller's watermark, in their current state. {@code complete} is
+ * false when this instance cannot say what changed (it restarted, reloaded its catalog, or
+ * no longer holds changes that old); the caller then has to copy the whole catalog again.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class CatalogChangesDto {
+    private String instanceId;
+    private long catalogVersion;
+    private long watermark;
+    private boolean complete;
+    private List<Product> products;
+}
@@ -0,0 +1,21 @@
+package com.mylearning.productdomainservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/** A price change; an event without an id is the heartbeat that opens every stream. */
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class PriceChangeEvent {
+    private String id;
+    private double price;
+    private Instant changedAt;
+
+    public static PriceChangeEvent heartbeat() {
+        return new PriceChangeEvent(null, 0, Instant.now());
+    }
+}
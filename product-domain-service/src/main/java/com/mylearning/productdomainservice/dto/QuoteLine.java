@@ -0,0 +1,13 @@
+package com.mylearning.productdomainservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class QuoteLine {
+    private String id;
+    private int quantity;
+}
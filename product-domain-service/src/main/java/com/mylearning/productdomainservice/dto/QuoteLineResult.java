@@ -0,0 +1,15 @@
+package com.mylearning.productdomainservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class QuoteLineResult {
+    private String id;
+    private int quantity;
+    private double unitPrice;
+    private double lineTotal;
+}
@@ -0,0 +1,17 @@
+package com.mylearning.productdomainservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class QuoteRequest {
+    /** Largest cart priced in one call, matching the cap SOE and the aggregator validate. */
+    public static final int MAX_LINES = 1000;
+
+    private List<QuoteLine> lines;
+}
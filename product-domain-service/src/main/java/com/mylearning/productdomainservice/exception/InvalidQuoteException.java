@@ -0,0 +1,11 @@
+package com.mylearning.productdomainservice.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidQuoteException extends RuntimeException {
+    public InvalidQuoteException(String message) {
+        super(message);
+    }
+}
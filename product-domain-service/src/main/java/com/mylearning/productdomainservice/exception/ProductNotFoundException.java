@@ -3,9 +3,12 @@ package com.mylearning.productdomainservice.exception;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ResponseStatus;
 
+/**
+ * Unknown ids are routine (bots, stale links), so no stack trace is captured.
+ */
 @ResponseStatus(HttpStatus.NOT_FOUND)
 public class ProductNotFoundException extends RuntimeException {
     public ProductNotFoundException(String id) {
-        super("Product with ID " + id + " not found.");
+        super("Product with ID " + id + " not found.", null, false, false);
     }
-}
\ No newline at end of file
+}
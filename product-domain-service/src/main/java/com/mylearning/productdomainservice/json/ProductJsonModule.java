@@ -0,0 +1,19 @@
+package com.mylearning.productdomainservice.json;
+
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.mylearning.productdomainservice.model.Product;
+import org.springframework.stereotype.Component;
+
+/**
+ * Hand-written serializer for the hottest response type. Boot registers every Module bean
+ * with the ObjectMapper behind the WebFlux codecs. The catalog loader keeps its own plain
+ * ObjectMapper, so products.json is still read reflectively.
+ */
+@Component
+public class ProductJsonModule extends SimpleModule {
+
+    public ProductJsonModule() {
+        super("product-json");
+        addSerializer(Product.class, new ProductSerializer());
+    }
+}
@@ -0,0 +1,33 @@
+package com.mylearning.productdomainservice.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.mylearning.productdomainservice.model.Product;
+
+import java.io.IOException;
+
+/** Same JSON as the reflective bean serializer, in the same field order, with pre-encoded names. */
+public class ProductSerializer extends StdSerializer<Product> {
+
+    private static final SerializedString ID = new SerializedString("id");
+    private static final SerializedString NAME = new SerializedString("name");
+    private static final SerializedString PRICE = new SerializedString("price");
+
+    public ProductSerializer() {
+        super(Product.class);
+    }
+
+    @Override
+    public void serialize(Product value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject(value);
+        gen.writeFieldName(ID);
+        gen.writeString(value.getId());
+        gen.writeFieldName(NAME);
+        gen.writeString(value.getName());
+        gen.writeFieldName(PRICE);
+        gen.writeNumber(value.getPrice());
+        gen.writeEndObject();
+    }
+}
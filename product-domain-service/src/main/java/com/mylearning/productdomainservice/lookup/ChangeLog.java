@@ -0,0 +1,48 @@
+package com.mylearning.productdomainservice.lookup;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * The ids of the last {@code capacity} catalog changes, each numbered with a sequence that only
+ * grows. Callers that keep a local copy pass back the last sequence they have seen (their
+ * watermark) and get the ids changed since, unless those changes have already been overwritten.
+ */
+public class ChangeLog {
+
+    private final String[] ids;
+    private long last;
+
+    public ChangeLog(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Change log capacity must be positive");
+        }
+        this.ids = new String[capacity];
+    }
+
+    /** Ids changed after {@code watermark} (oldest first, each once) and the sequence they bring a caller up to. */
+    public record Since(Set<String> ids, long watermark) {
+    }
+
+    public synchronized long append(String id) {
+        long sequence = ++last;
+        ids[(int) (sequence % ids.length)] = id;
+        return sequence;
+    }
+
+    public synchronized long last() {
+        return last;
+    }
+
+    /** Null if changes after {@code watermark} have already been overwritten, or it is from the future. */
+    public synchronized Since since(long watermark) {
+        if (watermark > last || last - watermark > ids.length) {
+            return null;
+        }
+        Set<String> changed = new LinkedHashSet<>();
+        for (long sequence = watermark + 1; sequence <= last; sequence++) {
+            changed.add(ids[(int) (sequence % ids.length)]);
+        }
+        return new Since(changed, last);
+    }
+}
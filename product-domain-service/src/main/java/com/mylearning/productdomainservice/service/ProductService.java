@@ -1,24 +1,97 @@
 package com.mylearning.productdomainservice.service;
 
-import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.MappingIterator;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mylearning.productdomainservice.dto.CatalogChangesDto;
+import com.mylearning.productdomainservice.dto.IdFilterDto;
+import com.mylearning.productdomainservice.dto.PriceChangeEvent;
+import com.mylearning.productdomainservice.dto.QuoteLine;
+import com.mylearning.productdomainservice.dto.QuoteLineResult;
+import com.mylearning.productdomainservice.dto.QuoteRequest;
+import com.mylearning.productdomainservice.dto.QuoteResponse;
 import com.mylearning.productdomainservice.exception.InvalidProductDataException;
+import com.mylearning.productdomainservice.exception.InvalidQuoteException;
 import com.mylearning.productdomainservice.exception.ProductNotFoundException;
+import com.mylearning.productdomainservice.lookup.ChangeLog;
 import com.mylearning.productdomainservice.model.Product;
+import com.mylearning.productcommon.lookup.BloomFilter;
+import com.mylearning.productcommon.shard.ConsistentHashRing;
 import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
 
 import java.io.InputStream;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 
 @Service
 @Slf4j
 public class ProductService {
 
-    private List<Product> products;
+    private final ConsistentHashRing shardRing;
+    private final int shardIndex;
+    private final double idFilterFalsePositiveRate;
+
+    /*
+     * One catalog load: the shard's products, the position of each id, its price at the same
+     * position as a primitive, and the id filter and change log built for that load. Replaced
+     * as a whole, so a request never sees the index of one load and the prices of another.
+     */
+    private record Catalog(long version,
+                           List<Product> products,
+                           Map<String, Integer> indexById,
+                           double[] prices,
+                           IdFilterDto idFilter,
+                           ChangeLog changeLog) {
+    }
+
+    private volatile Catalog catalog;
+
+    /* Names this instance's change logs to callers that mirror the catalog; see getChangesSince. */
+    private final String instanceId = UUID.randomUUID().toString();
+    private final int changeLogCapacity;
+
+    /*
+     * Hot stream of price changes. Each subscriber reads it through its own bounded buffer, and a
+     * subscriber that lets the buffer fill has its stream ended rather than silently missing events.
+     */
+    private final Sinks.Many<PriceChangeEvent> priceChanges = Sinks.many().multicast().directBestEffort();
+    private final int streamBufferSize;
+
+    /* Held while a new snapshot is published, so snapshots and stream events come out in one order. */
+    private final Object writeLock = new Object();
+
+    public ProductService(int shardIndex, int shardCount, int virtualNodes, double idFilterFalsePositiveRate) {
+        this(shardIndex, shardCount, virtualNodes, idFilterFalsePositiveRate, 100_000, 1024);
+    }
+
+    @Autowired
+    public ProductService(@Value("${catalog.shard.index:0}") int shardIndex,
+                          @Value("${catalog.shard.count:1}") int shardCount,
+                          @Value("${catalog.shard.virtual-nodes:128}") int virtualNodes,
+                          @Value("${catalog.id-filter.false-positive-rate:0.01}") double idFilterFalsePositiveRate,
+                          @Value("${catalog.changes.retention:100000}") int changeLogCapacity,
+                          @Value("${catalog.price-stream.subscriber-buffer:1024}") int streamBufferSize) {
+        if (shardIndex < 0 || shardIndex >= shardCount) {
+            throw new IllegalArgumentException("catalog.shard.index must be in [0, " + shardCount + ")");
+        }
+        this.shardRing = new ConsistentHashRing(shardCount, virtualNodes);
+        this.shardIndex = shardIndex;
+        this.idFilterFalsePositiveRate = idFilterFalsePositiveRate;
+        this.changeLogCapacity = changeLogCapacity;
+        this.streamBufferSize = streamBufferSize;
+    }
 
     @PostConstruct
     public void loadData() {
@@ -30,8 +103,10 @@ public class ProductService {
                 throw new IllegalStateException("products.json file not found in classpath");
             }
 
-            products = mapper.readValue(is, new TypeReference<>() {});
-            log.info("Loaded {} products from products.json", products.size());
+            // Streamed one product at a time; only this shard's products are ever held.
+            try (MappingIterator<Product> catalog = mapper.readerFor(Product.class).readValues(is)) {
+                loadCatalog(catalog);
+            }
 
         } catch (Exception ex) {
             log.error("Failed to load product data from JSON", ex);
@@ -39,20 +114,184 @@ public class ProductService {
         }
     }
 
+    /** Replaces the served catalog with this shard's part of the given products. */
+    public void loadCatalog(List<Product> catalog) {
+        loadCatalog(catalog.iterator());
+    }
+
+    /** As {@link #loadCatalog(List)}, keeping only this shard's products as they are read. */
+    public void loadCatalog(Iterator<Product> catalog) {
+        List<Product> owned = new ArrayList<>();
+        int read = 0;
+        while (catalog.hasNext()) {
+            Product product = catalog.next();
+            read++;
+            if (shardRing.ownerOf(product.getId()) == shardIndex) {
+                owned.add(product);
+            }
+        }
+        List<Product> products = List.copyOf(owned);
+        synchronized (writeLock) {
+            this.catalog = index(products);
+        }
+        log.info("Loaded {} of {} products for shard {}/{}", owned.size(), read, shardIndex, shardRing.shardCount());
+    }
+
+    private Catalog index(List<Product> products) {
+        Map<String, Integer> index = new HashMap<>(products.size() * 2);
+        double[] priceArray = new double[products.size()];
+        for (int i = 0; i < products.size(); i++) {
+            Product product = products.get(i);
+            index.put(product.getId(), i);
+            priceArray[i] = product.getPrice();
+        }
+
+        Catalog previous = catalog;
+        long version = previous == null ? 1 : previous.version() + 1;
+        BloomFilter filter = BloomFilter.of(index.keySet(), idFilterFalsePositiveRate);
+        IdFilterDto idFilter = new IdFilterDto(version, index.size(), filter.bitCount(), filter.hashCount(), filter.toBytes());
+        log.info("Built id filter v{}: {} ids in {} bits, {} hashes",
+                version, index.size(), filter.bitCount(), filter.hashCount());
+        return new Catalog(version, products, index, priceArray, idFilter, new ChangeLog(changeLogCapacity));
+    }
+
+    private static int indexOf(Catalog catalog, String id) {
+        Integer index = catalog.indexById().get(id);
+        if (index == null) {
+            throw new ProductNotFoundException(id);
+        }
+        return index;
+    }
+
     public Mono<Product> getProductById(String id) {
-        return Mono.justOrEmpty(
-                        products.stream()
-                                .filter(p -> p.getId().equals(id))
-                                .findFirst()
-                )
-                .switchIfEmpty(Mono.error(new ProductNotFoundException(id)));
+        return Mono.fromCallable(() -> {
+            Catalog current = catalog;
+            return current.products().get(indexOf(current, id));
+        });
     }
 
     public Mono<Double> getPriceById(String id) {
-        return getProductById(id).map(Product::getPrice);
+        return Mono.fromCallable(() -> {
+            Catalog current = catalog;
+            return current.prices()[indexOf(current, id)];
+        });
+    }
+
+    public Mono<QuoteResponse> quote(QuoteRequest request) {
+        return Mono.fromCallable(() -> priceQuote(request));
+    }
+
+    /**
+     * Prices every line in a single pass over the primitive price array; the only
+     * allocations are the result lines themselves.
+     */
+    public QuoteResponse priceQuote(QuoteRequest request) {
+        List<QuoteLine> lines = request.getLines();
+        if (lines == null || lines.isEmpty()) {
+            throw new InvalidQuoteException("Quote must contain at least one line");
+        }
+        if (lines.size() > QuoteRequest.MAX_LINES) {
+            throw new InvalidQuoteException("Quote must contain at most " + QuoteRequest.MAX_LINES + " lines");
+        }
+
+        Catalog current = catalog;
+        double[] priceArray = current.prices();
+        List<QuoteLineResult> results = new ArrayList<>(lines.size());
+        double total = 0;
+        for (QuoteLine line : lines) {
+            int quantity = line.getQuantity();
+            if (quantity <= 0) {
+                throw new InvalidQuoteException("Quantity for product " + line.getId() + " must be positive");
+            }
+            double unitPrice = priceArray[indexOf(current, line.getId())];
+            double lineTotal = unitPrice * quantity;
+            total += lineTotal;
+            results.add(new QuoteLineResult(line.getId(), quantity, unitPrice, lineTotal));
+        }
+        return new QuoteResponse(results, total);
     }
 
     public Flux<Product> getAllProducts() {
-        return Flux.fromIterable(products);
+        return Flux.defer(() -> Flux.fromIterable(catalog.products()));
+    }
+
+    /**
+     * Publishes a copy of the catalog with the new price rather than changing the one requests are
+     * reading, so a concurrent read sees either the old price everywhere or the new one everywhere.
+     */
+    public Mono<Product> updatePrice(String id, double price) {
+        return Mono.fromCallable(() -> {
+            Product product;
+            synchronized (writeLock) {
+                Catalog current = catalog;
+                int index = indexOf(current, id);
+                product = new Product(id, current.products().get(index).getName(), price);
+
+                List<Product> products = new ArrayList<>(current.products());
+                products.set(index, product);
+                double[] prices = current.prices().clone();
+                prices[index] = price;
+                catalog = new Catalog(current.version(), Collections.unmodifiableList(products), current.indexById(),
+                        prices, current.idFilter(), current.changeLog());
+
+                current.changeLog().append(id);
+                Sinks.EmitResult result = priceChanges.tryEmitNext(new PriceChangeEvent(id, price, Instant.now()));
+                if (result.isFailure() && result != Sinks.EmitResult.FAIL_ZERO_SUBSCRIBER) {
+                    log.warn("Price change for product {} not streamed: {}", id, result);
+                }
+            }
+            log.info("Price for product {} changed to {}", id, price);
+            return product;
+        });
+    }
+
+    public Mono<IdFilterDto> getIdFilter() {
+        return Mono.fromSupplier(() -> catalog.idFilter());
+    }
+
+    /** Where a caller copying the whole catalog now should start pulling changes from. */
+    public Mono<CatalogChangesDto> getWatermark() {
+        return Mono.fromSupplier(() -> {
+            Catalog current = catalog;
+            return new CatalogChangesDto(instanceId, current.version(), current.changeLog().last(), true, List.of());
+        });
+    }
+
+    /**
+     * Current state of every product changed after {@code watermark}, if the caller's copy came
+     * from this instance and catalog load and the log still reaches back that far. Otherwise the
+     * answer is incomplete and the caller must copy the catalog again.
+     */
+    public Mono<CatalogChangesDto> getChangesSince(String callerInstanceId, long callerCatalogVersion, long watermark) {
+        return Mono.fromSupplier(() -> {
+            Catalog current = catalog;
+            ChangeLog.Since since = instanceId.equals(callerInstanceId) && current.version() == callerCatalogVersion
+                    ? current.changeLog().since(watermark)
+                    : null;
+            if (since == null) {
+                return new CatalogChangesDto(instanceId, current.version(), current.changeLog().last(), false, List.of());
+            }
+            List<Product> changed = new ArrayList<>(since.ids().size());
+            for (String id : since.ids()) {
+                Integer index = current.indexById().get(id);
+                if (index != null) {
+                    changed.add(current.products().get(index));
+                }
+            }
+            return new CatalogChangesDto(instanceId, current.version(), since.watermark(), true, changed);
+        });
+    }
+
+    /**
+     * Price changes from now on, preceded by a heartbeat. The heartbeat is only sent once the
+     * subscription to changes is in place, so a subscriber that has seen it cannot have missed a
+     * change made after it. A subscriber more than {@code streamBufferSize} events behind gets an
+     * error instead of a gap.
+     */
+    public Flux<PriceChangeEvent> getPriceChanges() {
+        Flux<PriceChangeEvent> changes = priceChanges.asFlux()
+                .onBackpressureBuffer(streamBufferSize,
+                        dropped -> log.warn("Price stream subscriber fell {} events behind, ending its stream", streamBufferSize));
+        return Flux.merge(1, changes, Mono.fromSupplier(PriceChangeEvent::heartbeat));
     }
 }
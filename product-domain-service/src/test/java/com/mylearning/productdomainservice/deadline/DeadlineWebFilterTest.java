@@ -0,0 +1,94 @@
+package com.mylearning.productdomainservice.deadline;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the filter in the application context, so a 504 renders exactly as the service renders
+ * it. Two test-only routes report the budget a handler sees and hang until cancelled.
+ */
+@SpringBootTest
+@AutoConfigureWebTestClient
+class DeadlineWebFilterTest {
+
+    private static final CountDownLatch cancelled = new CountDownLatch(1);
+
+    @TestConfiguration
+    static class Routes {
+        @Bean
+        RouterFunction<ServerResponse> deadlineTestRoutes() {
+            return RouterFunctions.route()
+                    .GET("/test/budget", request -> Mono.deferContextual(ctx -> ServerResponse.ok()
+                            .bodyValue(ctx.hasKey(Deadline.class) ? ctx.get(Deadline.class).remainingMillis() : -1)))
+                    .GET("/test/hang", request -> Mono.<ServerResponse>never().doOnCancel(cancelled::countDown))
+                    .build();
+        }
+    }
+
+    @Autowired
+    private WebTestClient client;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void handlerSeesTheCallersBudgetCappedAtTheMaximum() {
+        client.get().uri("/test/budget")
+                .header(DeadlineWebFilter.HEADER, "500")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(Long.class).value(remaining -> assertThat(remaining).isPositive().isLessThan(500));
+
+        client.get().uri("/test/budget")
+                .header(DeadlineWebFilter.HEADER, "60000")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(Long.class).value(remaining -> assertThat(remaining).isPositive().isLessThan(10_000));
+    }
+
+    @Test
+    void requestArrivingWithNoBudgetLeftGetsA504() {
+        double before = exceeded("arrival");
+
+        client.get().uri("/api/products/101/price")
+                .header(DeadlineWebFilter.HEADER, "0")
+                .exchange()
+                .expectStatus().isEqualTo(504)
+                .expectBody()
+                .jsonPath("$.status").isEqualTo(504)
+                .jsonPath("$.path").isEqualTo("/api/products/101/price");
+
+        assertThat(exceeded("arrival")).isEqualTo(before + 1);
+    }
+
+    @Test
+    void budgetRunningOutAnswers504AndCancelsTheHandler() throws InterruptedException {
+        client.get().uri("/test/hang")
+                .header(DeadlineWebFilter.HEADER, "200")
+                .exchange()
+                .expectStatus().isEqualTo(504)
+                .expectBody()
+                .jsonPath("$.status").isEqualTo(504);
+
+        assertThat(cancelled.await(5, TimeUnit.SECONDS)).as("handler cancelled").isTrue();
+    }
+
+    private double exceeded(String reason) {
+        return meterRegistry.get(DeadlineWebFilter.METRIC).tag("tier", "domain").tag("reason", reason).counter().count();
+    }
+}
@@ -0,0 +1,25 @@
+package com.mylearning.productdomainservice.json;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mylearning.productdomainservice.model.Product;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProductJsonModuleTest {
+
+    @Test
+    void productIsWrittenAsTheReflectiveSerializerWritesIt() throws Exception {
+        ObjectMapper reflective = Jackson2ObjectMapperBuilder.json().build();
+        ObjectMapper tuned = Jackson2ObjectMapperBuilder.json().modulesToInstall(new ProductJsonModule()).build();
+        List<Product> products = List.of(
+                new Product("101", "Wireless \"Mouse\"", 499),
+                new Product("102", null, 1299.99),
+                new Product("103", "Ünïcode", 0.1));
+
+        assertThat(tuned.writeValueAsString(products)).isEqualTo(reflective.writeValueAsString(products));
+    }
+}
@@ -0,0 +1,36 @@
+package com.mylearning.productdomainservice.lookup;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ChangeLogTest {
+
+    @Test
+    void returnsEachIdChangedSinceTheWatermarkOnce() {
+        ChangeLog log = new ChangeLog(8);
+        log.append("101");
+        long watermark = log.append("102");
+        log.append("103");
+        log.append("101");
+        log.append("103");
+
+        ChangeLog.Since since = log.since(watermark);
+
+        assertThat(since.ids()).containsExactly("103", "101");
+        assertThat(since.watermark()).isEqualTo(5);
+        assertThat(log.since(since.watermark()).ids()).isEmpty();
+    }
+
+    @Test
+    void cannotAnswerForOverwrittenOrFutureWatermarks() {
+        ChangeLog log = new ChangeLog(4);
+        for (int i = 0; i < 10; i++) {
+            log.append("id-" + i);
+        }
+
+        assertThat(log.since(5)).isNull();
+        assertThat(log.since(6).ids()).containsExactly("id-6", "id-7", "id-8", "id-9");
+        assertThat(log.since(11)).isNull();
+    }
+}
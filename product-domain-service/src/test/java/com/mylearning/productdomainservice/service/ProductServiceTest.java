@@ -0,0 +1,151 @@
+package com.mylearning.productdomainservice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mylearning.productdomainservice.dto.QuoteLine;
+import com.mylearning.productdomainservice.dto.QuoteLineResult;
+import com.mylearning.productdomainservice.dto.QuoteRequest;
+import com.mylearning.productdomainservice.dto.QuoteResponse;
+import com.mylearning.productdomainservice.exception.InvalidQuoteException;
+import com.mylearning.productdomainservice.exception.ProductNotFoundException;
+import com.mylearning.productdomainservice.model.Product;
+import org.junit.jupiter.api.Test;
+import reactor.core.Exceptions;
+import reactor.test.StepVerifier;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class ProductServiceTest {
+
+    private static final int CATALOG_SIZE = 1_000;
+
+    @Test
+    void eachShardKeepsOnlyTheProductsItOwns() throws IOException {
+        byte[] json = new ObjectMapper().writeValueAsBytes(products());
+
+        List<String> served = new ArrayList<>();
+        for (int shard = 0; shard < 3; shard++) {
+            ProductService service = new ProductService(shard, 3, 128, 0.01);
+            service.loadCatalog(new ObjectMapper().readerFor(Product.class).<Product>readValues(json));
+
+            List<String> ids = service.getAllProducts().map(Product::getId).collectList().block();
+            assertThat(ids).hasSizeBetween(CATALOG_SIZE / 3 * 8 / 10, CATALOG_SIZE / 3 * 12 / 10);
+            assertThat(service.getIdFilter().block().getSize()).isEqualTo(ids.size());
+            served.addAll(ids);
+        }
+
+        assertThat(served).containsExactlyInAnyOrderElementsOf(products().stream().map(Product::getId).toList());
+    }
+
+    @Test
+    void bundledCatalogIsStreamedIn() {
+        ProductService service = new ProductService(0, 1, 128, 0.01);
+        service.loadData();
+
+        assertThat(service.getPriceById("101").block()).isEqualTo(499.0);
+        assertThat(service.getAllProducts().count().block()).isEqualTo(2);
+    }
+
+    @Test
+    void reloadReplacesIndexPricesAndFilterTogether() {
+        ProductService service = new ProductService(0, 1, 128, 0.01);
+        service.loadCatalog(List.of(new Product("101", "Mouse", 499.0)));
+        long firstVersion = service.getIdFilter().block().getVersion();
+
+        service.loadCatalog(List.of(new Product("201", "Desk", 9_999.0)));
+
+        assertThat(service.getPriceById("201").block()).isEqualTo(9_999.0);
+        assertThatThrownBy(() -> service.getPriceById("101").block()).isInstanceOf(ProductNotFoundException.class);
+        assertThat(service.getIdFilter().block().getVersion()).isEqualTo(firstVersion + 1);
+        assertThat(service.getWatermark().block().getCatalogVersion()).isEqualTo(firstVersion + 1);
+    }
+
+    @Test
+    void priceChangeIsPublishedAsANewSnapshot() {
+        ProductService service = new ProductService(0, 1, 128, 0.01);
+        service.loadCatalog(List.of(new Product("101", "Mouse", 499.0)));
+        Product before = service.getProductById("101").block();
+
+        service.updatePrice("101", 450.0).block();
+
+        assertThat(before.getPrice()).isEqualTo(499.0);
+        assertThat(service.getProductById("101").block().getPrice()).isEqualTo(450.0);
+        assertThat(service.getPriceById("101").block()).isEqualTo(450.0);
+        assertThat(service.getChangesSince(service.getWatermark().block().getInstanceId(), 1, 0).block().getProducts())
+                .extracting(Product::getPrice).containsExactly(450.0);
+    }
+
+    @Test
+    void streamOpensWithAHeartbeatThenCarriesChanges() {
+        ProductService service = new ProductService(0, 1, 128, 0.01);
+        service.loadCatalog(List.of(new Product("101", "Mouse", 499.0)));
+
+        StepVerifier.create(service.getPriceChanges())
+                .assertNext(event -> assertThat(event.getId()).isNull())
+                .then(() -> service.updatePrice("101", 450.0).block())
+                .assertNext(event -> assertThat(event.getId()).isEqualTo("101"))
+                .thenCancel()
+                .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void subscriberThatFallsTooFarBehindHasItsStreamEnded() {
+        ProductService service = new ProductService(0, 1, 128, 0.01, 100, 4);
+        service.loadCatalog(List.of(new Product("101", "Mouse", 499.0)));
+
+        StepVerifier.create(service.getPriceChanges(), 1)
+                .assertNext(event -> assertThat(event.getId()).isNull())
+                .then(() -> {
+                    for (int i = 1; i <= 10; i++) {
+                        service.updatePrice("101", 400.0 + i).block();
+                    }
+                })
+                .thenRequest(Long.MAX_VALUE)
+                .thenConsumeWhile(event -> event.getId() != null)
+                .expectErrorMatches(Exceptions::isOverflow)
+                .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void quoteKeepsLineOrderAndSumsLineTotals() {
+        ProductService service = new ProductService(0, 1, 128, 0.01);
+        service.loadCatalog(products());
+        List<QuoteLine> lines = IntStream.range(0, QuoteRequest.MAX_LINES)
+                .mapToObj(i -> new QuoteLine(String.valueOf(1_000 + (i * 7) % CATALOG_SIZE), 1 + i % 4))
+                .toList();
+
+        QuoteResponse quote = service.priceQuote(new QuoteRequest(lines));
+
+        assertThat(quote.getLines()).extracting(QuoteLineResult::getId)
+                .containsExactlyElementsOf(lines.stream().map(QuoteLine::getId).toList());
+        assertThat(quote.getLines()).allSatisfy(line ->
+                assertThat(line.getLineTotal()).isEqualTo(line.getUnitPrice() * line.getQuantity()));
+        assertThat(quote.getTotal()).isCloseTo(
+                quote.getLines().stream().mapToDouble(QuoteLineResult::getLineTotal).sum(), within(1e-6));
+    }
+
+    @Test
+    void quoteOverTheLineCapIsRejected() {
+        ProductService service = new ProductService(0, 1, 128, 0.01);
+        service.loadCatalog(products());
+        List<QuoteLine> lines = IntStream.rangeClosed(0, QuoteRequest.MAX_LINES)
+                .mapToObj(i -> new QuoteLine("1000", 1))
+                .toList();
+
+        assertThatThrownBy(() -> service.priceQuote(new QuoteRequest(lines)))
+                .isInstanceOf(InvalidQuoteException.class);
+    }
+
+    private static List<Product> products() {
+        return IntStream.range(0, CATALOG_SIZE)
+                .mapToObj(i -> new Product(String.valueOf(1_000 + i), "Product " + i, 10.0 + i))
+                .toList();
+    }
+}
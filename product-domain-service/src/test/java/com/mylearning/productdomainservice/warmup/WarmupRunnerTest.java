@@ -0,0 +1,94 @@
+package com.mylearning.productdomainservice.warmup;
+
+import com.mylearning.productdomainservice.ProductDomainServiceApplication;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerInitializedEvent;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Starts the service on a random port on another thread and polls its readiness probe from
+ * outside while the warm-up is still running.
+ */
+class WarmupRunnerTest {
+
+    private final CompletableFuture<Integer> port = new CompletableFuture<>();
+    private CompletableFuture<ConfigurableApplicationContext> started;
+
+    @AfterEach
+    void stop() throws Exception {
+        started.get(60, TimeUnit.SECONDS).close();
+    }
+
+    @Test
+    void readinessStaysOutOfServiceUntilTheBudgetRunsOut() throws Exception {
+        long start = System.nanoTime();
+        start("--warmup.budget=3s", "--warmup.requests=100000000", "--warmup.concurrency=1");
+        WebClient client = WebClient.create("http://localhost:" + port.get(60, TimeUnit.SECONDS));
+
+        // The server is up and the runner is about to start; it cannot be done for another 3s.
+        long pollUntil = System.nanoTime() + Duration.ofSeconds(2).toNanos();
+        while (System.nanoTime() < pollUntil) {
+            assertThat(started).as("started before the warm-up budget ran out").isNotDone();
+            assertThat(readiness(client)).isEqualTo(503);
+            Thread.sleep(100);
+        }
+
+        ConfigurableApplicationContext context = started.get(60, TimeUnit.SECONDS);
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isGreaterThanOrEqualTo(Duration.ofSeconds(3));
+        assertThat(readiness(client)).isEqualTo(200);
+        assertThat(warmups(context, "budget-exhausted")).isEqualTo(1);
+    }
+
+    @Test
+    void warmUpThatFinishesDoesNotWaitForItsBudget() throws Exception {
+        long start = System.nanoTime();
+        start("--warmup.budget=60s", "--warmup.requests=200");
+
+        ConfigurableApplicationContext context = started.get(60, TimeUnit.SECONDS);
+
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(30));
+        assertThat(readiness(WebClient.create("http://localhost:" + port.get()))).isEqualTo(200);
+        assertThat(warmups(context, "completed")).isEqualTo(1);
+    }
+
+    private void start(String... args) {
+        started = CompletableFuture.supplyAsync(() -> new SpringApplicationBuilder(ProductDomainServiceApplication.class)
+                .listeners((ApplicationListener<ApplicationEvent>) event -> {
+                    if (event instanceof WebServerInitializedEvent initialized) {
+                        port.complete(initialized.getWebServer().getPort());
+                    }
+                })
+                .run(withRandomPort(args)));
+    }
+
+    private static String[] withRandomPort(String... args) {
+        String[] all = new String[args.length + 1];
+        all[0] = "--server.port=0";
+        System.arraycopy(args, 0, all, 1, args.length);
+        return all;
+    }
+
+    private static int readiness(WebClient client) {
+        return client.get().uri("/actuator/health/readiness")
+                .exchangeToMono(response -> response.releaseBody().thenReturn(response.statusCode().value()))
+                .onErrorResume(ex -> Mono.just(-1))
+                .block(Duration.ofSeconds(5));
+    }
+
+    private static long warmups(ConfigurableApplicationContext context, String outcome) {
+        return context.getBean(MeterRegistry.class).get("warmup.duration").tag("outcome", outcome).timer().count();
+    }
+}
@@ -0,0 +1,70 @@
+package com.mylearning.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Recorded p99 and throughput per route, and the profile they were recorded under. Only
+ * comparable with a run of the same {@link LoadProfile#describe() profile} on the same box.
+ */
+record Baseline(String profile, Map<Route, Baseline.Limits> routes) {
+
+    record Limits(double p99Millis, double throughputPerSec) {
+    }
+
+    private static final ObjectMapper JSON = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    static Baseline of(LoadProfile profile, LoadReport report) {
+        Map<Route, Limits> routes = new EnumMap<>(Route.class);
+        report.results().forEach((route, result) -> {
+            if (result.succeeded() > 0) {
+                routes.put(route, new Limits(result.p99Millis(), result.throughputPerSec()));
+            }
+        });
+        return new Baseline(profile.describe(), routes);
+    }
+
+    static Optional<Baseline> read(Path file) throws IOException {
+        if (!Files.exists(file)) {
+            return Optional.empty();
+        }
+        return Optional.of(JSON.readValue(file.toFile(), Baseline.class));
+    }
+
+    void write(Path file) throws IOException {
+        JSON.writeValue(file.toFile(), this);
+    }
+
+    /** One line per route whose p99 grew or throughput dropped by more than the profile allows. */
+    List<String> regressions(LoadReport report, LoadProfile profile) {
+        List<String> regressions = new ArrayList<>();
+        routes.forEach((route, limits) -> {
+            LoadReport.RouteResult result = report.results().get(route);
+            if (result == null) {
+                return;
+            }
+            double maxP99 = limits.p99Millis() * (1 + profile.p99Tolerance());
+            if (result.p99Millis() > maxP99) {
+                regressions.add(String.format(Locale.ROOT, "%s p99 %.2f ms > %.2f ms (baseline %.2f ms + %.0f%%)",
+                        route, result.p99Millis(), maxP99, limits.p99Millis(), profile.p99Tolerance() * 100));
+            }
+            double minThroughput = limits.throughputPerSec() * (1 - profile.throughputTolerance());
+            if (result.throughputPerSec() < minThroughput) {
+                regressions.add(String.format(Locale.ROOT, "%s throughput %.1f req/s < %.1f req/s (baseline %.1f req/s - %.0f%%)",
+                        route, result.throughputPerSec(), minThroughput, limits.throughputPerSec(),
+                        profile.throughputTolerance() * 100));
+            }
+        });
+        return regressions;
+    }
+}
@@ -0,0 +1,79 @@
+package com.mylearning.loadtest;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Follows every circuit breaker of the given tiers, including ones created later, and reports
+ * per window what they did: state changes, calls refused, and the state each ended in.
+ */
+final class BreakerRecorder {
+
+    /** @param transitions "tier/breaker: FROM -> TO" in the order they happened */
+    record Window(List<String> transitions, Map<String, Long> notPermitted, Map<String, String> states) {
+
+        long openings() {
+            return transitions.stream().filter(t -> t.endsWith("-> OPEN")).count();
+        }
+
+        void print(PrintStream out) {
+            out.println("breaker states: " + states);
+            if (!notPermitted.isEmpty()) {
+                out.println("calls refused by breakers: " + notPermitted);
+            }
+            transitions.forEach(t -> out.println("  " + t));
+        }
+    }
+
+    private final Map<String, CircuitBreaker> breakers = new ConcurrentHashMap<>();
+    private final Queue<String> transitions = new ConcurrentLinkedQueue<>();
+    private final Map<String, LongAdder> notPermitted = new ConcurrentHashMap<>();
+
+    BreakerRecorder(Map<String, CircuitBreakerRegistry> registriesByTier) {
+        registriesByTier.forEach((tier, registry) -> {
+            for (CircuitBreaker breaker : registry.getAllCircuitBreakers()) {
+                follow(tier, breaker);
+            }
+            registry.getEventPublisher().onEntryAdded(event -> follow(tier, event.getAddedEntry()));
+        });
+    }
+
+    private void follow(String tier, CircuitBreaker breaker) {
+        String key = tier + "/" + breaker.getName();
+        if (breakers.putIfAbsent(key, breaker) != null) {
+            return;
+        }
+        breaker.getEventPublisher()
+                .onStateTransition(event -> transitions.add(key + ": "
+                        + event.getStateTransition().getFromState() + " -> " + event.getStateTransition().getToState()))
+                .onCallNotPermitted(event -> notPermitted.computeIfAbsent(key, k -> new LongAdder()).increment());
+    }
+
+    /** What happened since the previous call, and the states now. */
+    Window drain() {
+        List<String> happened = new ArrayList<>();
+        for (String t; (t = transitions.poll()) != null; ) {
+            happened.add(t);
+        }
+        Map<String, Long> refused = new TreeMap<>();
+        notPermitted.forEach((key, count) -> {
+            long n = count.sumThenReset();
+            if (n > 0) {
+                refused.put(key, n);
+            }
+        });
+        Map<String, String> states = new TreeMap<>();
+        breakers.forEach((key, breaker) -> states.put(key, breaker.getState().name()));
+        return new Window(happened, refused, states);
+    }
+}
@@ -0,0 +1,29 @@
+package com.mylearning.loadtest;
+
+import com.mylearning.productdomainservice.model.Product;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/** Synthetic catalog shaped like data/products.json, deterministic per size. */
+final class Catalog {
+
+    private static final long SEED = 42;
+
+    private Catalog() {
+    }
+
+    static String id(int i) {
+        return Integer.toString(100 + i);
+    }
+
+    static List<Product> products(int size) {
+        SplittableRandom random = new SplittableRandom(SEED);
+        List<Product> products = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            products.add(new Product(id(i), "Product " + i, 10 + random.nextInt(100_000) / 100.0));
+        }
+        return products;
+    }
+}
@@ -0,0 +1,60 @@
+package com.mylearning.loadtest;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Drives SOE → aggregator → domain with the open-model load from {@link LoadProfile} and
+ * fails if errors exceed the allowed rate, or p99 or throughput regress past baseline.json.
+ * Without a baseline for the current profile the run still reports, and is marked skipped, or
+ * fails with {@code -Dloadtest.require-baseline=true}. The committed baseline matches the
+ * default profile.
+ */
+class ChainLoadTest {
+
+    private static final Path RESULTS_DIR = Path.of("target", "loadtest");
+
+    @Test
+    void chainHoldsLatencyAndThroughputBaseline() throws Exception {
+        LoadProfile profile = LoadProfile.fromSystemProperties();
+        System.out.println("Load profile: " + profile.describe() + " tracing=" + profile.tracing());
+
+        LoadReport report;
+        try (ServiceChain chain = ServiceChain.start(Catalog.products(profile.catalogSize()),
+                profile.tracingProperties());
+             OpenLoadGenerator load = new OpenLoadGenerator(chain.soeBaseUrl(), profile)) {
+            if (!profile.warmup().isZero()) {
+                load.run(profile.warmup());
+            }
+            report = load.run(profile.duration());
+        }
+        report.print(System.out);
+        report.write(RESULTS_DIR);
+
+        assertThat(report.errorRate()).as("error rate").isLessThanOrEqualTo(profile.maxErrorRate());
+
+        if (profile.updateBaseline()) {
+            Baseline.of(profile, report).write(profile.baselineFile());
+            System.out.println("Baseline written to " + profile.baselineFile().toAbsolutePath());
+            return;
+        }
+        Optional<Baseline> baseline = Baseline.read(profile.baselineFile());
+        String missing = baseline.isEmpty()
+                ? "No baseline at " + profile.baselineFile().toAbsolutePath()
+                        + "; rerun with -Dloadtest.update-baseline=true to record one"
+                : baseline.get().profile().equals(profile.describe())
+                        ? null
+                        : "Baseline was recorded for '" + baseline.get().profile() + "', not this profile";
+        if (missing != null) {
+            System.out.println("Regression check NOT run: " + missing);
+            assertThat(profile.requireBaseline()).as(missing).isFalse();
+            assumeTrue(false, missing);
+        }
+        assertThat(baseline.get().regressions(report, profile)).isEmpty();
+    }
+}
@@ -0,0 +1,110 @@
+package com.mylearning.loadtest;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * SOE and the aggregator started for real in front of a stand-in for the domain's price route.
+ * The stand-in records the budget each product's call carried, and never answers for
+ * {@link #HANGING_ID}. Ids are not reused across tests, so the aggregator's price cache never
+ * answers in place of the domain.
+ */
+class DeadlineChainTest {
+
+    private static final String HEADER = "X-Deadline-Remaining-Ms";
+    private static final String HANGING_ID = "999";
+
+    private static final Map<String, Long> budgets = new ConcurrentHashMap<>();
+    private static final CountDownLatch cancelled = new CountDownLatch(1);
+    private static DisposableServer domain;
+    private static ServiceChain chain;
+    private static WebTestClient client;
+
+    @BeforeAll
+    static void start() {
+        domain = HttpServer.create()
+                .port(0)
+                .route(routes -> routes.get("/api/products/{id}/price", (request, response) -> {
+                    String id = request.param("id");
+                    String budget = request.requestHeaders().get(HEADER);
+                    budgets.put(id, budget == null ? -1 : Long.parseLong(budget));
+                    return response.header("Content-Type", "application/json")
+                            .sendString(HANGING_ID.equals(id)
+                                    ? Mono.<String>never().doOnCancel(cancelled::countDown)
+                                    : Mono.just("49.9"))
+                            .then();
+                }))
+                .bindNow();
+        // Nothing but the request under test may reach the stand-in.
+        chain = ServiceChain.startOn("http://localhost:" + domain.port() + "/api/products", Map.of(
+                "warmup.enabled", false,
+                "aggregator.price-stream.enabled", false,
+                "product.price-stream.enabled", false,
+                "product.id-filter.enabled", false,
+                "product.mirror.enabled", false));
+        client = WebTestClient.bindToServer()
+                .baseUrl(chain.soeBaseUrl())
+                .responseTimeout(Duration.ofSeconds(10))
+                .build();
+    }
+
+    @AfterAll
+    static void stop() {
+        if (chain != null) {
+            chain.close();
+        }
+        if (domain != null) {
+            domain.disposeNow();
+        }
+    }
+
+    @Test
+    void callersBudgetReachesTheDomainSmallerThanItWasSent() {
+        client.get().uri("/101/price")
+                .header(HEADER, "2000")
+                .exchange()
+                .expectStatus().isOk();
+
+        assertThat(budgets.get("101")).isPositive().isLessThan(2_000);
+    }
+
+    @Test
+    void soeDefaultBudgetReachesTheDomainWhenTheCallerSendsNone() {
+        client.get().uri("/102/price")
+                .exchange()
+                .expectStatus().isOk();
+
+        // SOE's request.deadline.default is 3s.
+        assertThat(budgets.get("102")).isPositive().isLessThan(3_000);
+    }
+
+    @Test
+    void budgetRunningOutDownstreamIsA504EnvelopeAndCancelsTheDomainCall() throws InterruptedException {
+        long start = System.nanoTime();
+
+        client.get().uri("/" + HANGING_ID + "/price")
+                .header(HEADER, "300")
+                .exchange()
+                .expectStatus().isEqualTo(504)
+                .expectBody()
+                .jsonPath("$.status").isEqualTo(504)
+                .jsonPath("$.errors[0].code").isEqualTo("DEADLINE_EXCEEDED");
+
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(2));
+        assertThat(budgets.get(HANGING_ID)).isPositive().isLessThan(300);
+        assertThat(cancelled.await(5, TimeUnit.SECONDS)).as("domain call cancelled").isTrue();
+    }
+}
@@ -0,0 +1,13 @@
+package com.mylearning.loadtest;
+
+/** The domain {@code ProductController} routes served by the {@link DomainSimulator}. */
+enum DomainRoute {
+    ALL_PRODUCTS,
+    PRODUCT,
+    PRICE,
+    ID_FILTER,
+    CHANGES,
+    QUOTE,
+    UPDATE_PRICE,
+    PRICE_STREAM
+}
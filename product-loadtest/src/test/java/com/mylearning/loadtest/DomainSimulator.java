@@ -0,0 +1,227 @@
+package com.mylearning.loadtest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.mylearning.productdomainservice.dto.CatalogChangesDto;
+import com.mylearning.productdomainservice.dto.QuoteRequest;
+import com.mylearning.productdomainservice.exception.InvalidQuoteException;
+import com.mylearning.productdomainservice.exception.ProductNotFoundException;
+import com.mylearning.productdomainservice.model.Product;
+import com.mylearning.productdomainservice.service.ProductService;
+import io.netty.channel.ChannelOption;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.QueryStringDecoder;
+import org.reactivestreams.Publisher;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.http.server.HttpServerRequest;
+import reactor.netty.http.server.HttpServerResponse;
+import reactor.netty.resources.LoopResources;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+/**
+ * Stand-in for the domain service: the {@code ProductController} API over a generated catalog,
+ * served from a plain Reactor Netty server on a random port, with the {@link FaultProfile}
+ * faults injected in front of every route. The catalog is held by a real domain
+ * {@link ProductService}, so lookups, quotes, the id filter, the change feed and price changes
+ * answer exactly as the domain would.
+ * <p>
+ * The profile can be swapped while traffic flows, from the test with {@link #apply} or over
+ * HTTP with {@code PUT /simulator/faults/{preset}}; {@code GET /simulator/stats} returns the
+ * request count per route.
+ */
+final class DomainSimulator implements AutoCloseable {
+
+    private static final String BASE = "/api/products";
+    private static final String JSON = MediaType.APPLICATION_JSON_VALUE;
+
+    private final ProductService catalog;
+    private final ObjectMapper mapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+    private final AtomicLongArray requests = new AtomicLongArray(DomainRoute.values().length);
+    private final LoopResources loops;
+    private final DisposableServer server;
+    private volatile FaultProfile profile;
+
+    private DomainSimulator(List<Product> products, FaultProfile profile) {
+        this.catalog = new ProductService(0, 1, 128, 0.01);
+        // The domain service mutates prices in place, so it gets its own copies.
+        this.catalog.loadCatalog(products.stream()
+                .map(p -> new Product(p.getId(), p.getName(), p.getPrice()))
+                .toList());
+        this.profile = profile;
+        // Own event loops, so injected work never competes with the services under test.
+        this.loops = LoopResources.create("domain-simulator", 2, true);
+        this.server = HttpServer.create()
+                .port(0)
+                .runOn(loops)
+                .route(routes -> routes
+                        .get(BASE, (req, res) -> serve(DomainRoute.ALL_PRODUCTS, req, res,
+                                () -> catalog.getAllProducts().collectList()))
+                        .get(BASE + "/ids/filter", (req, res) -> serve(DomainRoute.ID_FILTER, req, res,
+                                catalog::getIdFilter))
+                        .get(BASE + "/prices/stream", (req, res) -> streamPrices(res))
+                        .get(BASE + "/changes/watermark", (req, res) -> serve(DomainRoute.CHANGES, req, res,
+                                catalog::getWatermark))
+                        .get(BASE + "/changes", (req, res) -> serve(DomainRoute.CHANGES, req, res,
+                                () -> changes(req)))
+                        .post(BASE + "/quote", (req, res) -> serve(DomainRoute.QUOTE, req, res,
+                                () -> req.receive().aggregate().asString()
+                                        .map(body -> read(body, QuoteRequest.class))
+                                        .flatMap(catalog::quote)))
+                        .get(BASE + "/{id}/price", (req, res) -> serve(DomainRoute.PRICE, req, res,
+                                () -> catalog.getPriceById(req.param("id"))))
+                        .put(BASE + "/{id}/price", (req, res) -> serve(DomainRoute.UPDATE_PRICE, req, res,
+                                () -> req.receive().aggregate().asString()
+                                        .flatMap(body -> catalog.updatePrice(req.param("id"), read(body, Double.class)))))
+                        .get(BASE + "/{id}", (req, res) -> serve(DomainRoute.PRODUCT, req, res,
+                                () -> catalog.getProductById(req.param("id"))))
+                        .put("/simulator/faults/{preset}", (req, res) -> switchProfile(req, res))
+                        .get("/simulator/stats", (req, res) -> send(res, HttpResponseStatus.OK, write(requestCounts()))))
+                .bindNow();
+    }
+
+    static DomainSimulator start(List<Product> products, FaultProfile profile) {
+        return new DomainSimulator(products, profile);
+    }
+
+    /** Base URL of the products API, to use as the aggregator's {@code product.service.base-url}. */
+    String baseUrl() {
+        return "http://localhost:" + server.port() + BASE;
+    }
+
+    /** Takes effect for requests arriving from now on. */
+    void apply(FaultProfile profile) {
+        this.profile = profile;
+    }
+
+    FaultProfile profile() {
+        return profile;
+    }
+
+    Map<DomainRoute, Long> requestCounts() {
+        Map<DomainRoute, Long> counts = new EnumMap<>(DomainRoute.class);
+        for (DomainRoute route : DomainRoute.values()) {
+            counts.put(route, requests.get(route.ordinal()));
+        }
+        return counts;
+    }
+
+    private Publisher<Void> serve(DomainRoute route, HttpServerRequest req, HttpServerResponse res,
+                                  Supplier<Mono<?>> answer) {
+        requests.incrementAndGet(route.ordinal());
+        RouteFaults faults = profile.forRoute(route);
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long latency = faults.latency().sampleNanos(random);
+        double roll = random.nextDouble();
+        boolean drip = random.nextDouble() < faults.dripRate();
+
+        Mono<Void> reply;
+        if (roll < faults.resetRate()) {
+            reply = Mono.fromRunnable(() -> reset(req));
+        } else if (roll < faults.resetRate() + faults.errorRate()) {
+            HttpResponseStatus status = HttpResponseStatus.valueOf(faults.errorStatus());
+            reply = Mono.defer(() -> send(res, status, "{\"error\":\"Injected " + status.code() + "\"}"));
+        } else {
+            reply = Mono.defer(answer)
+                    .map(this::write)
+                    .flatMap(body -> drip
+                            ? drip(res, body, faults.dripChunks(), faults.dripInterval())
+                            : send(res, HttpResponseStatus.OK, body))
+                    .onErrorResume(ProductNotFoundException.class,
+                            ex -> send(res, HttpResponseStatus.NOT_FOUND, write(Map.of("error", ex.getMessage()))))
+                    .onErrorResume(InvalidQuoteException.class,
+                            ex -> send(res, HttpResponseStatus.BAD_REQUEST, write(Map.of("error", ex.getMessage()))));
+        }
+        return latency > 0 ? Mono.delay(Duration.ofNanos(latency)).then(reply) : reply;
+    }
+
+    private Mono<CatalogChangesDto> changes(HttpServerRequest req) {
+        Map<String, List<String>> params = new QueryStringDecoder(req.uri()).parameters();
+        return catalog.getChangesSince(params.get("instanceId").get(0),
+                Long.parseLong(params.get("catalogVersion").get(0)),
+                Long.parseLong(params.get("since").get(0)));
+    }
+
+    private Mono<Void> streamPrices(HttpServerResponse res) {
+        requests.incrementAndGet(DomainRoute.PRICE_STREAM.ordinal());
+        return res.header("Content-Type", MediaType.APPLICATION_NDJSON_VALUE)
+                .sendString(catalog.getPriceChanges().map(event -> write(event) + "\n"))
+                .then();
+    }
+
+    private Mono<Void> switchProfile(HttpServerRequest req, HttpServerResponse res) {
+        try {
+            apply(FaultProfile.preset(req.param("preset")));
+            return send(res, HttpResponseStatus.OK, write(Map.of("profile", profile.name())));
+        } catch (IllegalArgumentException ex) {
+            return send(res, HttpResponseStatus.BAD_REQUEST, write(Map.of("error", ex.getMessage())));
+        }
+    }
+
+    private static Mono<Void> send(HttpServerResponse res, HttpResponseStatus status, String body) {
+        return res.status(status)
+                .header("Content-Type", JSON)
+                .sendString(Mono.just(body))
+                .then();
+    }
+
+    /* Headers go out at once; the body follows in pieces, as from a server that is swapping or stalled mid-write. */
+    private static Mono<Void> drip(HttpServerResponse res, String body, int chunks, Duration interval) {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        int size = Math.max(1, (bytes.length + chunks - 1) / chunks);
+        List<String> pieces = new ArrayList<>();
+        for (int from = 0; from < bytes.length; from += size) {
+            pieces.add(new String(bytes, from, Math.min(size, bytes.length - from), StandardCharsets.ISO_8859_1));
+        }
+        return res.status(HttpResponseStatus.OK)
+                .header("Content-Type", JSON)
+                .sendString(Flux.fromIterable(pieces).delayElements(interval), StandardCharsets.ISO_8859_1)
+                .then();
+    }
+
+    /* SO_LINGER 0 makes close() send a RST instead of a FIN, like a crashed or killed process. */
+    private static void reset(HttpServerRequest req) {
+        req.withConnection(connection -> {
+            connection.channel().config().setOption(ChannelOption.SO_LINGER, 0);
+            connection.channel().close();
+        });
+    }
+
+    private String write(Object value) {
+        try {
+            return mapper.writeValueAsString(value);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Cannot serialise " + value, ex);
+        }
+    }
+
+    private <T> T read(String body, Class<T> type) {
+        try {
+            return mapper.readValue(body, type);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalArgumentException("Malformed request body: " + ex.getOriginalMessage(), ex);
+        }
+    }
+
+    @Override
+    public void close() {
+        server.disposeNow();
+        loops.dispose();
+    }
+}
@@ -0,0 +1,71 @@
+package com.mylearning.loadtest;
+
+import com.mylearning.productdomainservice.model.Product;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DomainSimulatorTest {
+
+    private final DomainSimulator simulator = DomainSimulator.start(Catalog.products(50), FaultProfile.none());
+    private final WebClient client = WebClient.create(simulator.baseUrl());
+
+    @AfterEach
+    void stop() {
+        simulator.close();
+    }
+
+    @Test
+    void answersLikeTheDomainController() {
+        Product product = client.get().uri("/{id}", Catalog.id(7)).retrieve().bodyToMono(Product.class).block();
+        List<Product> all = client.get().uri("").retrieve().bodyToFlux(Product.class).collectList().block();
+
+        assertThat(product).isEqualTo(Catalog.products(50).get(7));
+        assertThat(all).hasSize(50);
+        assertThat(status("/{id}", "no-such-id")).isEqualTo(404);
+        assertThat(simulator.requestCounts()).containsEntry(DomainRoute.PRODUCT, 2L);
+    }
+
+    @Test
+    void injectsTheFaultsOfTheCurrentProfile() {
+        simulator.apply(profile(DomainRoute.PRICE, RouteFaults.HEALTHY.withErrors(1.0, 503)));
+        assertThat(status("/{id}/price", Catalog.id(1))).isEqualTo(503);
+        assertThat(status("/{id}", Catalog.id(1))).isEqualTo(200);
+
+        simulator.apply(profile(DomainRoute.PRICE, RouteFaults.HEALTHY.withResets(1.0)));
+        assertThatThrownBy(() -> status("/{id}/price", Catalog.id(1))).isInstanceOf(WebClientRequestException.class);
+
+        simulator.apply(profile(DomainRoute.PRODUCT, RouteFaults.HEALTHY.withDrip(1.0, 5, Duration.ofMillis(40))));
+        long start = System.nanoTime();
+        Product dripped = client.get().uri("/{id}", Catalog.id(1)).retrieve().bodyToMono(Product.class).block();
+        assertThat(dripped).isEqualTo(Catalog.products(50).get(1));
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isGreaterThanOrEqualTo(Duration.ofMillis(150));
+    }
+
+    @Test
+    void switchesPresetOverHttp() {
+        client.put().uri(simulator.baseUrl().replace("/api/products", "/simulator/faults/outage"))
+                .retrieve().toBodilessEntity().block();
+
+        assertThat(simulator.profile().name()).isEqualTo("outage");
+        assertThat(status("/{id}", Catalog.id(1))).isEqualTo(503);
+    }
+
+    private static FaultProfile profile(DomainRoute route, RouteFaults faults) {
+        return new FaultProfile("test", Map.of(route, faults));
+    }
+
+    private int status(String uri, String id) {
+        return client.get().uri(uri, id)
+                .exchangeToMono(response -> response.releaseBody().thenReturn(response.statusCode().value()))
+                .block();
+    }
+}
@@ -0,0 +1,55 @@
+package com.mylearning.loadtest;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-route faults for the {@link DomainSimulator}; routes not listed behave as
+ * {@link RouteFaults#HEALTHY}. The id filter, the change feed and the price stream are left
+ * healthy by every preset, since the aggregator already treats their failure as "no local
+ * knowledge".
+ */
+record FaultProfile(String name, Map<DomainRoute, RouteFaults> routes) {
+
+    /* The routes the aggregator calls per request. */
+    private static final List<DomainRoute> LOOKUPS = List.of(DomainRoute.PRODUCT, DomainRoute.PRICE, DomainRoute.QUOTE);
+
+    private static final LatencyDistribution NORMAL = LatencyDistribution.logNormal(Duration.ofMillis(2), Duration.ofMillis(10));
+
+    static final List<String> PRESETS = List.of("healthy", "slow-tail", "flaky", "slow-drip", "outage", "hang");
+
+    RouteFaults forRoute(DomainRoute route) {
+        return routes.getOrDefault(route, RouteFaults.HEALTHY);
+    }
+
+    /** No faults and no added latency. */
+    static FaultProfile none() {
+        return new FaultProfile("none", Map.of());
+    }
+
+    static FaultProfile preset(String name) {
+        RouteFaults healthy = RouteFaults.HEALTHY.withLatency(NORMAL);
+        RouteFaults lookups = switch (name) {
+            case "healthy" -> healthy;
+            // p50 5ms but p99 250ms: a GC-pausing or overloaded replica.
+            case "slow-tail" -> healthy.withLatency(LatencyDistribution.logNormal(Duration.ofMillis(5), Duration.ofMillis(250)));
+            case "flaky" -> healthy.withErrors(0.05, 503).withResets(0.01);
+            // One answer in ten trickles out over 400ms after its headers.
+            case "slow-drip" -> healthy.withDrip(0.1, 8, Duration.ofMillis(50));
+            case "outage" -> RouteFaults.HEALTHY.withLatency(LatencyDistribution.fixed(Duration.ofMillis(1))).withErrors(1.0, 503);
+            // Accepts the request and never answers in time; only the caller's deadline ends it.
+            case "hang" -> RouteFaults.HEALTHY.withLatency(LatencyDistribution.fixed(Duration.ofSeconds(30)));
+            default -> throw new IllegalArgumentException("Unknown fault profile '" + name + "', expected one of " + PRESETS);
+        };
+        Map<DomainRoute, RouteFaults> routes = new EnumMap<>(DomainRoute.class);
+        for (DomainRoute route : LOOKUPS) {
+            routes.put(route, lookups);
+        }
+        routes.put(DomainRoute.ALL_PRODUCTS, name.equals("slow-drip")
+                ? healthy.withDrip(1.0, 32, Duration.ofMillis(20))
+                : lookups);
+        return new FaultProfile(name, Map.copyOf(routes));
+    }
+}
@@ -0,0 +1,79 @@
+package com.mylearning.loadtest;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Drives SOE → aggregator → {@link DomainSimulator} with the same open-model load as
+ * {@link ChainLoadTest}, switching the simulator's fault profile every phase while traffic
+ * keeps flowing. Each phase reports latency, throughput and errors per route, what the
+ * breakers of both tiers did, and the request rate that reached the domain. Breakers must
+ * open during an outage and be closed again at the end of a healthy phase.
+ */
+class FaultScenarioTest {
+
+    private static final Path RESULTS_DIR = Path.of("target", "loadtest", "faults");
+
+    private record Phase(String preset, LoadReport report, BreakerRecorder.Window breakers) {
+    }
+
+    @Test
+    void breakersOpenUnderFaultsAndCloseOnceHealthy() throws Exception {
+        LoadProfile profile = LoadProfile.fromSystemProperties();
+        System.out.println("Load profile: " + profile.describe() + " tracing=" + profile.tracing()
+                + " faults=" + profile.faultPhases() + " x " + profile.phaseDuration().toSeconds() + "s");
+
+        List<Phase> phases = new ArrayList<>();
+        try (DomainSimulator simulator = DomainSimulator.start(Catalog.products(profile.catalogSize()),
+                FaultProfile.preset("healthy"));
+             ServiceChain chain = ServiceChain.startOn(simulator, profile.tracingProperties());
+             OpenLoadGenerator load = new OpenLoadGenerator(chain.soeBaseUrl(), profile)) {
+            BreakerRecorder breakers = new BreakerRecorder(Map.of(
+                    "aggregator", chain.bean("aggregator", CircuitBreakerRegistry.class),
+                    "soe", chain.bean("soe", CircuitBreakerRegistry.class)));
+            if (!profile.warmup().isZero()) {
+                load.run(profile.warmup());
+            }
+            breakers.drain();
+
+            for (int i = 0; i < profile.faultPhases().size(); i++) {
+                String preset = profile.faultPhases().get(i).trim();
+                simulator.apply(FaultProfile.preset(preset));
+                long domainRequestsBefore = total(simulator.requestCounts());
+                LoadReport report = load.run(profile.phaseDuration());
+                long domainRequests = total(simulator.requestCounts()) - domainRequestsBefore;
+                BreakerRecorder.Window window = breakers.drain();
+
+                System.out.printf(Locale.ROOT, "%n== phase %d: %s ==%n", i + 1, preset);
+                report.print(System.out);
+                System.out.printf(Locale.ROOT, "error rate %.4f, domain requests %.1f/s%n",
+                        report.errorRate(), domainRequests / (profile.phaseDuration().toNanos() / 1e9));
+                window.print(System.out);
+                report.write(RESULTS_DIR.resolve((i + 1) + "-" + preset));
+                phases.add(new Phase(preset, report, window));
+            }
+        }
+
+        for (Phase phase : phases) {
+            if (phase.preset().equals("outage")) {
+                assertThat(phase.breakers().openings()).as("breaker openings during outage").isPositive();
+            }
+        }
+        Phase last = phases.get(phases.size() - 1);
+        if (last.preset().equals("healthy")) {
+            assertThat(last.breakers().states().values()).as("breaker states after recovery").containsOnly("CLOSED");
+        }
+    }
+
+    private static long total(Map<DomainRoute, Long> counts) {
+        return counts.values().stream().mapToLong(Long::longValue).sum();
+    }
+}
@@ -0,0 +1,50 @@
+package com.mylearning.loadtest;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+
+/** Service time injected by the {@link DomainSimulator} before it answers. */
+interface LatencyDistribution {
+
+    /* z-score of the 99th percentile of a standard normal distribution. */
+    double Z_99 = 2.3263;
+
+    long sampleNanos(ThreadLocalRandom random);
+
+    static LatencyDistribution none() {
+        return fixed(Duration.ZERO);
+    }
+
+    static LatencyDistribution fixed(Duration latency) {
+        long nanos = latency.toNanos();
+        return random -> nanos;
+    }
+
+    static LatencyDistribution uniform(Duration min, Duration max) {
+        long lo = min.toNanos();
+        long hi = max.toNanos();
+        return random -> lo + random.nextLong(hi - lo + 1);
+    }
+
+    /**
+     * Log-normal with the given median and 99th percentile: most calls near the median and a
+     * long right tail, which is roughly how a real service's latency is shaped.
+     */
+    static LatencyDistribution logNormal(Duration median, Duration p99) {
+        double mu = Math.log(median.toNanos());
+        double sigma = (Math.log(p99.toNanos()) - mu) / Z_99;
+        String text = String.format(Locale.ROOT, "logNormal(p50=%dms, p99=%dms)", median.toMillis(), p99.toMillis());
+        return new LatencyDistribution() {
+            @Override
+            public long sampleNanos(ThreadLocalRandom random) {
+                return (long) Math.exp(mu + sigma * random.nextGaussian());
+            }
+
+            @Override
+            public String toString() {
+                return text;
+            }
+        };
+    }
+}
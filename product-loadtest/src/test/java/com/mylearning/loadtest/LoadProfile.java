@@ -0,0 +1,80 @@
+package com.mylearning.loadtest;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Parameters of a load run, read from {@code loadtest.*} system properties so they can be
+ * passed straight through {@code mvn -D...}.
+ *
+ * @param rate                arrival rate in requests per second, independent of response times
+ * @param keySkew             Zipf exponent of the id distribution, 0 for uniform
+ * @param requestTimeout      client-side give-up time; a timed-out request counts as a failure
+ * @param p99Tolerance        allowed p99 increase over the baseline, as a fraction
+ * @param throughputTolerance allowed throughput decrease below the baseline, as a fraction
+ * @param requireBaseline     fail, rather than skip, when there is no baseline for this profile
+ * @param tracing             trace sampling probability for every tier, or {@code off}; left out of
+ *                            {@link #describe()} so a traced run can be checked against an untraced baseline
+ * @param faultPhases         {@link FaultProfile} presets the simulator runs through, one per phase
+ * @param phaseDuration       recorded length of each fault phase
+ */
+record LoadProfile(double rate,
+                   Duration warmup,
+                   Duration duration,
+                   int catalogSize,
+                   double keySkew,
+                   RouteMix mix,
+                   Duration requestTimeout,
+                   double maxErrorRate,
+                   double p99Tolerance,
+                   double throughputTolerance,
+                   Path baselineFile,
+                   boolean updateBaseline,
+                   boolean requireBaseline,
+                   String tracing,
+                   List<String> faultPhases,
+                   Duration phaseDuration) {
+
+    static LoadProfile fromSystemProperties() {
+        return new LoadProfile(
+                Double.parseDouble(property("rate", "100")),
+                DurationStyle.detectAndParse(property("warmup", "15s")),
+                DurationStyle.detectAndParse(property("duration", "60s")),
+                Integer.parseInt(property("catalog-size", "1000")),
+                Double.parseDouble(property("key-skew", "1.0")),
+                RouteMix.parse(property("mix", "details=60,price=35,all=5")),
+                DurationStyle.detectAndParse(property("request-timeout", "5s")),
+                Double.parseDouble(property("max-error-rate", "0.001")),
+                Double.parseDouble(property("p99-tolerance", "0.25")),
+                Double.parseDouble(property("throughput-tolerance", "0.05")),
+                Path.of(property("baseline", "baseline.json")),
+                Boolean.parseBoolean(property("update-baseline", "false")),
+                Boolean.parseBoolean(property("require-baseline", "false")),
+                property("tracing", "1.0"),
+                List.of(property("faults", "healthy,slow-tail,flaky,outage,healthy").split(",")),
+                DurationStyle.detectAndParse(property("phase", "20s")));
+    }
+
+    private static String property(String name, String defaultValue) {
+        return System.getProperty("loadtest." + name, defaultValue);
+    }
+
+    /** Settings passed to all three services for {@link #tracing}. */
+    Map<String, Object> tracingProperties() {
+        if ("off".equalsIgnoreCase(tracing)) {
+            return Map.of("management.tracing.enabled", false);
+        }
+        return Map.of("management.tracing.sampling.probability", Double.parseDouble(tracing));
+    }
+
+    /** The parameters that decide whether two runs are comparable; stored with the baseline. */
+    String describe() {
+        return String.format(Locale.ROOT, "rate=%.0f/s duration=%ds catalog=%d skew=%.2f mix=%s",
+                rate, duration.toSeconds(), catalogSize, keySkew, mix);
+    }
+}
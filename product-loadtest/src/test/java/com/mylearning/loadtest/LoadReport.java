@@ -0,0 +1,108 @@
+package com.mylearning.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/** Per-route outcome of one {@link OpenLoadGenerator#run} window. */
+final class LoadReport {
+
+    /** Latencies in milliseconds, of successful responses only; failures are counted by cause. */
+    record RouteResult(long succeeded,
+                       long failed,
+                       Map<String, Long> failures,
+                       double throughputPerSec,
+                       double p50Millis,
+                       double p90Millis,
+                       double p99Millis,
+                       double p999Millis,
+                       double maxMillis) {
+    }
+
+    private static final ObjectMapper JSON = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private final Duration duration;
+    private final Map<Route, Histogram> histograms = new EnumMap<>(Route.class);
+    private final Map<Route, RouteResult> results = new EnumMap<>(Route.class);
+    private final int unfinished;
+
+    LoadReport(Duration duration, Map<Route, RouteRecorder> recorders, int unfinished) {
+        this.duration = duration;
+        this.unfinished = unfinished;
+        double seconds = duration.toNanos() / 1e9;
+        recorders.forEach((route, recorder) -> {
+            Histogram h = recorder.latencies();
+            Map<String, Long> failures = recorder.failures();
+            long failed = failures.values().stream().mapToLong(Long::longValue).sum();
+            histograms.put(route, h);
+            results.put(route, new RouteResult(recorder.succeeded(), failed, failures,
+                    recorder.succeeded() / seconds,
+                    millis(h.getValueAtPercentile(50)),
+                    millis(h.getValueAtPercentile(90)),
+                    millis(h.getValueAtPercentile(99)),
+                    millis(h.getValueAtPercentile(99.9)),
+                    millis(h.getMaxValue())));
+        });
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+
+    Map<Route, RouteResult> results() {
+        return results;
+    }
+
+    /** Failed plus never-answered requests over all requests sent. */
+    double errorRate() {
+        long failed = unfinished;
+        long total = unfinished;
+        for (RouteResult result : results.values()) {
+            failed += result.failed();
+            total += result.succeeded() + result.failed();
+        }
+        return total == 0 ? 0 : (double) failed / total;
+    }
+
+    void print(PrintStream out) {
+        out.printf(Locale.ROOT, "%-13s %9s %7s %10s %9s %9s %9s %9s %9s%n",
+                "route", "ok", "failed", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        results.forEach((route, r) -> out.printf(Locale.ROOT, "%-13s %9d %7d %10.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                route, r.succeeded(), r.failed(), r.throughputPerSec(),
+                r.p50Millis(), r.p90Millis(), r.p99Millis(), r.p999Millis(), r.maxMillis()));
+        results.forEach((route, r) -> {
+            if (!r.failures().isEmpty()) {
+                out.println(route + " failures: " + r.failures());
+            }
+        });
+        if (unfinished > 0) {
+            out.println(unfinished + " requests still unanswered at the end of the run");
+        }
+    }
+
+    /** Writes result.json plus one HdrHistogram percentile file (.hgrm) per route into {@code dir}. */
+    void write(Path dir) throws IOException {
+        Files.createDirectories(dir);
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("durationSeconds", duration.toSeconds());
+        json.put("unfinished", unfinished);
+        json.put("routes", results);
+        JSON.writeValue(dir.resolve("result.json").toFile(), json);
+        for (Map.Entry<Route, Histogram> entry : histograms.entrySet()) {
+            Path file = dir.resolve(entry.getKey().key() + ".hgrm");
+            try (PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+                entry.getValue().outputPercentileDistribution(out, 1000.0);
+            }
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.mylearning.loadtest;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the same load twice against a {@link DomainSimulator}, once with the aggregator's
+ * catalog mirror off and once with it on, while a {@link ReplicationLagProbe} keeps changing
+ * prices on the domain. Reports per run the request rate that reached the domain, how long a
+ * price change took to show in the aggregator, and the mirror's size and estimated heap use.
+ * With the mirror on, the domain must see less than half the reads, and every change must
+ * show up within the mirror's refresh interval plus a few seconds' slack.
+ */
+class MirrorScenarioTest {
+
+    private static final Path RESULTS_DIR = Path.of("target", "loadtest", "mirror");
+    /* Reads the aggregator makes on behalf of clients; writes and the price stream do not count. */
+    private static final Set<DomainRoute> READS = Set.of(DomainRoute.ALL_PRODUCTS, DomainRoute.PRODUCT,
+            DomainRoute.PRICE, DomainRoute.QUOTE, DomainRoute.ID_FILTER, DomainRoute.CHANGES);
+    private static final Duration PROBE_PAUSE = Duration.ofMillis(100);
+
+    private record Run(String mode, LoadReport report, double domainReadsPerSec, Histogram lags, long unseen,
+                       double mirroredProducts, double mirrorBytes) {
+    }
+
+    @Test
+    void mirrorTakesReadsOffTheDomainWithBoundedLag() throws Exception {
+        LoadProfile profile = LoadProfile.fromSystemProperties();
+        System.out.println("Load profile: " + profile.describe() + " tracing=" + profile.tracing());
+
+        Run direct = run(profile, false);
+        Run mirrored = run(profile, true);
+
+        for (Run run : List.of(direct, mirrored)) {
+            System.out.printf(Locale.ROOT, "%n== mirror %s ==%n", run.mode());
+            run.report().print(System.out);
+            System.out.printf(Locale.ROOT, "domain reads %.1f/s%n", run.domainReadsPerSec());
+            System.out.printf(Locale.ROOT, "price change visible after p50 %.1f ms, p99 %.1f ms, max %.1f ms (%d changes, %d not seen)%n",
+                    run.lags().getValueAtPercentile(50) / 1000.0, run.lags().getValueAtPercentile(99) / 1000.0,
+                    run.lags().getMaxValue() / 1000.0, run.lags().getTotalCount(), run.unseen());
+            System.out.printf(Locale.ROOT, "mirror holds %.0f products in about %.1f KiB%n",
+                    run.mirroredProducts(), run.mirrorBytes() / 1024);
+            run.report().write(RESULTS_DIR.resolve(run.mode()));
+        }
+        double drop = 1 - mirrored.domainReadsPerSec() / direct.domainReadsPerSec();
+        System.out.printf(Locale.ROOT, "%ndomain read rate down %.1f%% with the mirror%n", drop * 100);
+
+        assertThat(mirrored.report().errorRate()).as("error rate with mirror").isLessThanOrEqualTo(profile.maxErrorRate());
+        assertThat(drop).as("share of domain reads taken off by the mirror").isGreaterThan(0.5);
+        assertThat(mirrored.unseen()).as("price changes never seen through the mirror").isZero();
+        assertThat(mirrored.lags().getMaxValue()).as("replication lag, µs")
+                .isLessThan(Duration.ofSeconds(5).toNanos() / 1000);
+    }
+
+    private static Run run(LoadProfile profile, boolean mirror) throws Exception {
+        Map<String, Object> properties = new HashMap<>(profile.tracingProperties());
+        properties.put("product.mirror.enabled", mirror);
+        try (DomainSimulator simulator = DomainSimulator.start(Catalog.products(profile.catalogSize()),
+                FaultProfile.preset("healthy"));
+             ServiceChain chain = ServiceChain.startOn(simulator, properties);
+             OpenLoadGenerator load = new OpenLoadGenerator(chain.soeBaseUrl(), profile)) {
+            if (!profile.warmup().isZero()) {
+                load.run(profile.warmup());
+            }
+            long readsBefore = reads(simulator);
+            LoadReport report;
+            ReplicationLagProbe probe = new ReplicationLagProbe(simulator.baseUrl(), chain.aggregatorBaseUrl(),
+                    profile.catalogSize(), PROBE_PAUSE);
+            try {
+                report = load.run(profile.duration());
+            } finally {
+                probe.close();
+            }
+            double readsPerSec = (reads(simulator) - readsBefore) / (profile.duration().toNanos() / 1e9);
+            MeterRegistry meters = chain.bean("aggregator", MeterRegistry.class);
+            return new Run(mirror ? "on" : "off", report, readsPerSec, probe.lags(), probe.unseen(),
+                    meters.get("product.mirror.products").gauge().value(),
+                    meters.get("product.mirror.memory").gauge().value());
+        }
+    }
+
+    private static long reads(DomainSimulator simulator) {
+        return simulator.requestCounts().entrySet().stream()
+                .filter(entry -> READS.contains(entry.getKey()))
+                .mapToLong(Map.Entry::getValue)
+                .sum();
+    }
+}
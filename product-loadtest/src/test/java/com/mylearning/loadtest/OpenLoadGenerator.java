@@ -0,0 +1,104 @@
+package com.mylearning.loadtest;
+
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.netty.resources.LoopResources;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model load: requests are issued on a fixed schedule whether or not earlier ones have
+ * answered, and each latency is measured from the request's scheduled send time. A stall on
+ * the server therefore shows up in every request it delays rather than in just the one
+ * in flight (no coordinated omission).
+ * <p>
+ * The client runs on its own event loops and connection pool so it does not compete with the
+ * services for the shared Reactor Netty resources.
+ */
+final class OpenLoadGenerator implements AutoCloseable {
+
+    private static final int MAX_CONNECTIONS = 2048;
+    private static final Duration DRAIN_GRACE = Duration.ofSeconds(5);
+
+    private final LoadProfile profile;
+    private final LoopResources loops;
+    private final ConnectionProvider connections;
+    private final WebClient client;
+    private final ZipfKeys keys;
+    private final SplittableRandom random = new SplittableRandom(7);
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    OpenLoadGenerator(String baseUrl, LoadProfile profile) {
+        this.profile = profile;
+        this.loops = LoopResources.create("loadtest", Math.max(2, Runtime.getRuntime().availableProcessors() / 4), true);
+        this.connections = ConnectionProvider.builder("loadtest")
+                .maxConnections(MAX_CONNECTIONS)
+                .pendingAcquireMaxCount(-1)
+                .build();
+        HttpClient http = HttpClient.create(connections)
+                .runOn(loops)
+                .responseTimeout(profile.requestTimeout());
+        this.client = WebClient.builder()
+                .baseUrl(baseUrl)
+                .clientConnector(new ReactorClientHttpConnector(http))
+                .build();
+        this.keys = new ZipfKeys(profile.catalogSize(), profile.keySkew());
+    }
+
+    /** Sends at the profile's arrival rate for {@code duration}, then waits for the stragglers. */
+    LoadReport run(Duration duration) {
+        Map<Route, RouteRecorder> recorders = new EnumMap<>(Route.class);
+        for (Route route : Route.values()) {
+            recorders.put(route, new RouteRecorder());
+        }
+
+        double intervalNanos = 1e9 / profile.rate();
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        for (long i = 0; ; i++) {
+            long scheduled = start + (long) (i * intervalNanos);
+            if (scheduled - end >= 0) {
+                break;
+            }
+            long wait;
+            while ((wait = scheduled - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            Route route = profile.mix().pick(random);
+            send(route, Catalog.id(keys.next(random)), scheduled, recorders.get(route));
+        }
+        int unfinished = awaitInFlight(profile.requestTimeout().plus(DRAIN_GRACE));
+        return new LoadReport(duration, recorders, unfinished);
+    }
+
+    private void send(Route route, String id, long scheduled, RouteRecorder recorder) {
+        inFlight.incrementAndGet();
+        client.get()
+                .uri(route.uriTemplate(), id)
+                .exchangeToMono(response -> response.releaseBody().thenReturn(response.statusCode().value()))
+                .doFinally(signal -> inFlight.decrementAndGet())
+                .subscribe(status -> recorder.record(status, System.nanoTime() - scheduled),
+                        recorder::recordError);
+    }
+
+    private int awaitInFlight(Duration timeout) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (inFlight.get() > 0 && deadline - System.nanoTime() > 0) {
+            LockSupport.parkNanos(Duration.ofMillis(10).toNanos());
+        }
+        return inFlight.get();
+    }
+
+    @Override
+    public void close() {
+        connections.dispose();
+        loops.dispose();
+    }
+}
@@ -0,0 +1,97 @@
+package com.mylearning.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.HdrHistogram.Histogram;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Measures how long a price change on the domain takes to show in the aggregator's price
+ * answer. One change at a time: set a new price on a random product, then poll the aggregator
+ * until it returns that price, and record the time in microseconds.
+ */
+final class ReplicationLagProbe implements AutoCloseable {
+
+    private static final Duration GIVE_UP = Duration.ofSeconds(15);
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(5);
+
+    private final WebClient domain;
+    private final WebClient aggregator;
+    private final int catalogSize;
+    private final Duration pause;
+    private final Histogram lags = new Histogram(TimeUnit.MINUTES.toMicros(1), 3);
+    private final Thread thread;
+    private volatile boolean running = true;
+    private long unseen;
+
+    ReplicationLagProbe(String domainBaseUrl, String aggregatorBaseUrl, int catalogSize, Duration pause) {
+        this.domain = WebClient.create(domainBaseUrl);
+        this.aggregator = WebClient.create(aggregatorBaseUrl);
+        this.catalogSize = catalogSize;
+        this.pause = pause;
+        this.thread = new Thread(this::probe, "replication-lag-probe");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    private void probe() {
+        SplittableRandom random = new SplittableRandom(11);
+        for (int round = 1; running; round++) {
+            String id = Catalog.id(random.nextInt(catalogSize));
+            // A price no product had before, so an old cached answer can never match it.
+            double price = 1_000_000 + round / 100.0;
+            domain.put().uri("/{id}/price", id).bodyValue(price).retrieve().toBodilessEntity().block();
+            long lagMicros = awaitPrice(id, price);
+            if (lagMicros >= 0) {
+                lags.recordValue(Math.min(lags.getHighestTrackableValue(), lagMicros));
+            } else if (running) {
+                unseen++;
+            }
+            LockSupport.parkNanos(pause.toNanos());
+        }
+    }
+
+    /* Microseconds until the aggregator answers with the new price, or -1 if it did not in time. */
+    private long awaitPrice(String id, double price) {
+        long changed = System.nanoTime();
+        long deadline = changed + GIVE_UP.toNanos();
+        while (running && deadline - System.nanoTime() > 0) {
+            Double current = currentPrice(id);
+            if (current != null && current == price) {
+                return (System.nanoTime() - changed) / 1000;
+            }
+            LockSupport.parkNanos(POLL_INTERVAL.toNanos());
+        }
+        return -1;
+    }
+
+    private Double currentPrice(String id) {
+        JsonNode body = aggregator.get().uri("/{id}/price", id)
+                .retrieve()
+                .bodyToMono(JsonNode.class)
+                .onErrorResume(ex -> Mono.empty())
+                .block();
+        return body == null || !body.path("data").isNumber() ? null : body.path("data").asDouble();
+    }
+
+    /** Lag of every change that showed up, in microseconds. */
+    Histogram lags() {
+        return lags;
+    }
+
+    /** Changes that had not shown up after {@link #GIVE_UP}. */
+    long unseen() {
+        return unseen;
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        running = false;
+        thread.join(GIVE_UP.plusSeconds(5).toMillis());
+    }
+}
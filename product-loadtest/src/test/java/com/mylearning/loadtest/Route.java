@@ -0,0 +1,33 @@
+package com.mylearning.loadtest;
+
+/** SOE routes the load is spread over, relative to /api/products. */
+enum Route {
+    DETAILS("details", "/{id}/details"),
+    PRICE("price", "/{id}/price"),
+    ALL_PRODUCTS("all", "");
+
+    private final String key;
+    private final String uriTemplate;
+
+    Route(String key, String uriTemplate) {
+        this.key = key;
+        this.uriTemplate = uriTemplate;
+    }
+
+    String key() {
+        return key;
+    }
+
+    String uriTemplate() {
+        return uriTemplate;
+    }
+
+    static Route ofKey(String key) {
+        for (Route route : values()) {
+            if (route.key.equals(key)) {
+                return route;
+            }
+        }
+        throw new IllegalArgumentException("Unknown route '" + key + "', expected details, price or all");
+    }
+}
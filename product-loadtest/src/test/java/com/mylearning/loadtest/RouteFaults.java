@@ -0,0 +1,40 @@
+package com.mylearning.loadtest;
+
+import java.time.Duration;
+
+/**
+ * What the {@link DomainSimulator} does to one route. Every request first waits for a
+ * latency sample; then a share of requests have their connection reset, a share get
+ * {@code errorStatus}, and a share of the successful answers have their body dripped out in
+ * {@code dripChunks} pieces, {@code dripInterval} apart.
+ *
+ * @param resetRate share of requests answered by closing the connection with a TCP reset
+ * @param errorRate share of requests answered with {@code errorStatus}
+ * @param dripRate  share of successful answers sent slowly
+ */
+record RouteFaults(LatencyDistribution latency,
+                   double resetRate,
+                   double errorRate,
+                   int errorStatus,
+                   double dripRate,
+                   int dripChunks,
+                   Duration dripInterval) {
+
+    static final RouteFaults HEALTHY = new RouteFaults(LatencyDistribution.none(), 0, 0, 503, 0, 1, Duration.ZERO);
+
+    RouteFaults withLatency(LatencyDistribution latency) {
+        return new RouteFaults(latency, resetRate, errorRate, errorStatus, dripRate, dripChunks, dripInterval);
+    }
+
+    RouteFaults withResets(double resetRate) {
+        return new RouteFaults(latency, resetRate, errorRate, errorStatus, dripRate, dripChunks, dripInterval);
+    }
+
+    RouteFaults withErrors(double errorRate, int errorStatus) {
+        return new RouteFaults(latency, resetRate, errorRate, errorStatus, dripRate, dripChunks, dripInterval);
+    }
+
+    RouteFaults withDrip(double dripRate, int dripChunks, Duration dripInterval) {
+        return new RouteFaults(latency, resetRate, errorRate, errorStatus, dripRate, dripChunks, dripInterval);
+    }
+}
@@ -0,0 +1,61 @@
+package com.mylearning.loadtest;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.stream.Collectors;
+
+/** Weighted choice of route per request, parsed from e.g. {@code details=60,price=35,all=5}. */
+final class RouteMix {
+
+    private final Map<Route, Integer> weights;
+    private final Route[] routes;
+    private final int[] cumulative;
+
+    private RouteMix(Map<Route, Integer> weights) {
+        this.weights = weights;
+        this.routes = weights.keySet().toArray(Route[]::new);
+        this.cumulative = new int[routes.length];
+        int total = 0;
+        for (int i = 0; i < routes.length; i++) {
+            total += weights.get(routes[i]);
+            cumulative[i] = total;
+        }
+        if (total <= 0) {
+            throw new IllegalArgumentException("Route mix needs at least one positive weight");
+        }
+    }
+
+    static RouteMix parse(String spec) {
+        Map<Route, Integer> weights = new EnumMap<>(Route.class);
+        for (String entry : spec.split(",")) {
+            String[] parts = entry.trim().split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Bad route mix entry '" + entry + "', expected route=weight");
+            }
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("Negative weight in route mix entry '" + entry + "'");
+            }
+            weights.put(Route.ofKey(parts[0].trim()), weight);
+        }
+        return new RouteMix(weights);
+    }
+
+    Route pick(SplittableRandom random) {
+        int ticket = random.nextInt(cumulative[cumulative.length - 1]);
+        for (int i = 0; i < cumulative.length; i++) {
+            if (ticket < cumulative[i]) {
+                return routes[i];
+            }
+        }
+        throw new IllegalStateException("unreachable");
+    }
+
+    @Override
+    public String toString() {
+        return weights.entrySet().stream()
+                .map(e -> e.getKey().key() + "=" + e.getValue())
+                .collect(Collectors.joining(","));
+    }
+}
@@ -0,0 +1,51 @@
+package com.mylearning.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/** Latencies of successful responses and counts of failures, by cause, for one route. */
+final class RouteRecorder {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private final Histogram latencies = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+    private final LongAdder succeeded = new LongAdder();
+    private final Map<String, LongAdder> failures = new ConcurrentHashMap<>();
+
+    void record(int status, long latencyNanos) {
+        if (status >= 200 && status < 300) {
+            latencies.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), HIGHEST_TRACKABLE_MICROS));
+            succeeded.increment();
+        } else {
+            fail("HTTP " + status);
+        }
+    }
+
+    void recordError(Throwable error) {
+        fail(error.getClass().getSimpleName());
+    }
+
+    private void fail(String cause) {
+        failures.computeIfAbsent(cause, c -> new LongAdder()).increment();
+    }
+
+    Histogram latencies() {
+        return latencies;
+    }
+
+    long succeeded() {
+        return succeeded.sum();
+    }
+
+    Map<String, Long> failures() {
+        Map<String, Long> counts = new TreeMap<>();
+        failures.forEach((cause, count) -> counts.put(cause, count.sum()));
+        return counts;
+    }
+}
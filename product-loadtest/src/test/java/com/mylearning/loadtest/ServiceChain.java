@@ -0,0 +1,174 @@
+package com.mylearning.loadtest;
+
+import com.mylearning.productaggregatorservice.ProductAggregatorServiceApplication;
+import com.mylearning.productdomainservice.ProductDomainServiceApplication;
+import com.mylearning.productdomainservice.model.Product;
+import com.mylearning.productdomainservice.service.ProductService;
+import com.mylearning.productservice.ProductServiceApplication;
+import org.springframework.boot.Banner;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.env.PropertiesPropertySourceLoader;
+import org.springframework.boot.env.PropertySourceLoader;
+import org.springframework.boot.env.YamlPropertySourceLoader;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.MutablePropertySources;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.UrlResource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Domain, aggregator and SOE started in this JVM on random ports, each pointed at the next.
+ * The domain tier serves the given catalog instead of the bundled two-product one, and is
+ * loaded before the aggregator starts so the aggregator's first id filter fetch already
+ * covers it. Alternatively the aggregator is pointed at a {@link DomainSimulator}, or any other
+ * stand-in for the domain API, and only the upper two tiers are started. The shared properties go to every tier.
+ */
+final class ServiceChain implements AutoCloseable {
+
+    private static final List<PropertySourceLoader> CONFIG_LOADERS =
+            List.of(new PropertiesPropertySourceLoader(), new YamlPropertySourceLoader());
+
+    private final Map<String, Object> shared;
+    private final Map<String, ConfigurableApplicationContext> contexts = new LinkedHashMap<>();
+    private String aggregatorBaseUrl;
+    private String soeBaseUrl;
+
+    private ServiceChain(Map<String, Object> shared) {
+        this.shared = shared;
+    }
+
+    static ServiceChain start(List<Product> catalog, Map<String, Object> shared) {
+        ServiceChain chain = new ServiceChain(shared);
+        try {
+            ConfigurableApplicationContext domain = chain.run(ProductDomainServiceApplication.class, "domain", Map.of());
+            domain.getBean(ProductService.class).loadCatalog(catalog);
+            chain.startUpperTiers("http://localhost:" + port(domain) + "/api/products");
+            return chain;
+        } catch (RuntimeException ex) {
+            chain.close();
+            throw ex;
+        }
+    }
+
+    /** Aggregator and SOE only, with the simulator in place of the domain tier. */
+    static ServiceChain startOn(DomainSimulator simulator, Map<String, Object> shared) {
+        return startOn(simulator.baseUrl(), shared);
+    }
+
+    /** Aggregator and SOE only, pointed at whatever serves the domain API at the given base URL. */
+    static ServiceChain startOn(String domainBaseUrl, Map<String, Object> shared) {
+        ServiceChain chain = new ServiceChain(shared);
+        try {
+            chain.startUpperTiers(domainBaseUrl);
+            return chain;
+        } catch (RuntimeException ex) {
+            chain.close();
+            throw ex;
+        }
+    }
+
+    private void startUpperTiers(String domainBaseUrl) {
+        ConfigurableApplicationContext aggregator = run(ProductAggregatorServiceApplication.class, "aggregator",
+                Map.of("product.service.base-url", domainBaseUrl));
+
+        aggregatorBaseUrl = "http://localhost:" + port(aggregator) + "/api/aggregator/products";
+        ConfigurableApplicationContext soe = run(ProductServiceApplication.class, "soe",
+                Map.of("aggregator.base-url", aggregatorBaseUrl));
+
+        soeBaseUrl = "http://localhost:" + port(soe) + "/api/products";
+    }
+
+    String soeBaseUrl() {
+        return soeBaseUrl;
+    }
+
+    String aggregatorBaseUrl() {
+        return aggregatorBaseUrl;
+    }
+
+    /** A bean of a running tier ("domain", "aggregator" or "soe"), for inspecting its state during a run. */
+    <T> T bean(String tier, Class<T> type) {
+        ConfigurableApplicationContext context = contexts.get(tier);
+        if (context == null) {
+            throw new IllegalArgumentException("No " + tier + " tier in this chain");
+        }
+        return context.getBean(type);
+    }
+
+    private ConfigurableApplicationContext run(Class<?> application, String tier, Map<String, Object> overrides) {
+        Map<String, Object> properties = new HashMap<>(shared);
+        properties.putAll(overrides);
+        properties.put("server.port", 0);
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(application)
+                .bannerMode(Banner.Mode.OFF)
+                .initializers(ctx -> applyOwnConfig(application, ctx.getEnvironment(), tier, properties))
+                // Matches no file, so the shared classpath root's application.properties is not picked up.
+                .run("--spring.config.name=loadtest-" + tier);
+        contexts.put(tier, context);
+        return context;
+    }
+
+    /**
+     * All three services ship an application.properties at the classpath root, so the usual
+     * lookup would hand every context whichever one comes first. Each context instead gets the
+     * files from the jar or classes directory its own main class was loaded from, with the
+     * harness overrides on top.
+     */
+    private static void applyOwnConfig(Class<?> application, ConfigurableEnvironment environment,
+                                       String tier, Map<String, Object> overrides) {
+        MutablePropertySources sources = environment.getPropertySources();
+        sources.addFirst(new MapPropertySource("loadtest-" + tier, overrides));
+        for (PropertySourceLoader loader : CONFIG_LOADERS) {
+            for (String extension : loader.getFileExtensions()) {
+                Resource resource = ownResource(application, "application." + extension);
+                if (!resource.exists()) {
+                    continue;
+                }
+                try {
+                    for (PropertySource<?> source : loader.load(tier + " " + resource.getFilename(), resource)) {
+                        sources.addLast(source);
+                    }
+                } catch (IOException ex) {
+                    throw new UncheckedIOException("Failed to read " + resource, ex);
+                }
+            }
+        }
+    }
+
+    private static Resource ownResource(Class<?> application, String name) {
+        URL location = application.getProtectionDomain().getCodeSource().getLocation();
+        try {
+            if (location.getPath().endsWith(".jar")) {
+                return new UrlResource("jar:" + location + "!/" + name);
+            }
+            return new UrlResource(location.toURI().resolve(name));
+        } catch (IOException | URISyntaxException ex) {
+            throw new IllegalStateException("Cannot locate " + name + " next to " + application.getName(), ex);
+        }
+    }
+
+    private static int port(ConfigurableApplicationContext context) {
+        return context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+    }
+
+    @Override
+    public void close() {
+        List<ConfigurableApplicationContext> started = new ArrayList<>(contexts.values());
+        for (int i = started.size() - 1; i >= 0; i--) {
+            started.get(i).close();
+        }
+        contexts.clear();
+    }
+}
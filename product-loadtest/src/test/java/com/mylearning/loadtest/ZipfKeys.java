@@ -0,0 +1,33 @@
+package com.mylearning.loadtest;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Draws catalog positions with Zipf skew: position k is picked with weight 1/(k+1)^s.
+ * s = 0 is uniform; around 1 the hottest few percent of ids take most of the traffic.
+ */
+final class ZipfKeys {
+
+    private final double[] cdf;
+
+    ZipfKeys(int size, double skew) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("Catalog size must be positive");
+        }
+        cdf = new double[size];
+        double total = 0;
+        for (int k = 0; k < size; k++) {
+            total += 1.0 / Math.pow(k + 1, skew);
+            cdf[k] = total;
+        }
+        for (int k = 0; k < size; k++) {
+            cdf[k] /= total;
+        }
+    }
+
+    int next(SplittableRandom random) {
+        int i = Arrays.binarySearch(cdf, random.nextDouble());
+        return Math.min(i >= 0 ? i : -i - 1, cdf.length - 1);
+    }
+}
@@ -0,0 +1,60 @@
+#!/usr/bin/env bash
+# Time to first successful request of one service, launched plain and launched with AOT + CDS.
+#
+#   scripts/measure-ttfr.sh <service-dir> <url> [runs]
+#   scripts/measure-ttfr.sh product-domain-service http://localhost:8082/api/products/101 10
+#
+# Build the service with `mvn -Pfast-startup -DskipTests package` first. The aggregator and
+# SOE only answer successfully with their downstream services running, so start those first
+# (any launch mode). Prints the median and worst of <runs> launches per mode, in milliseconds.
+set -euo pipefail
+
+dir=$(cd "$1" && pwd)
+url=$2
+runs=${3:-5}
+
+plain_jar=$(ls "$dir"/target/*-exec.jar)
+cds_dir="$dir/target/cds"
+if [[ ! -f "$cds_dir/application.jsa" ]]; then
+  echo "No CDS archive in $cds_dir; build with: mvn -Pfast-startup -DskipTests package" >&2
+  exit 1
+fi
+
+launch() {
+  case $1 in
+    plain) exec java -jar "$plain_jar" ;;
+    # CDS checks the class path against the training run, so launch from the same directory.
+    aot-cds) cd "$cds_dir" && exec java -XX:SharedArchiveFile=application.jsa -Dspring.aot.enabled=true -jar application.jar ;;
+  esac
+}
+
+# Milliseconds from process launch until $url first answers 2xx.
+once() {
+  local start end pid
+  start=$(date +%s%N)
+  launch "$1" >/dev/null 2>&1 &
+  pid=$!
+  until curl -fs -o /dev/null "$url"; do
+    if ! kill -0 "$pid" 2>/dev/null; then
+      echo "$1 launch exited before answering $url" >&2
+      return 1
+    fi
+    sleep 0.01
+  done
+  end=$(date +%s%N)
+  kill "$pid"
+  wait "$pid" 2>/dev/null || true
+  echo $(( (end - start) / 1000000 ))
+}
+
+printf '%-8s %10s %10s\n' mode median_ms max_ms
+for mode in plain aot-cds; do
+  samples=()
+  for ((i = 0; i < runs; i++)); do
+    samples+=("$(once "$mode")")
+  done
+  sorted=$(printf '%s\n' "${samples[@]}" | sort -n)
+  median=$(awk '{a[NR]=$1} END {print (NR % 2) ? a[(NR+1)/2] : int((a[NR/2] + a[NR/2+1]) / 2)}' <<<"$sorted")
+  max=$(tail -n1 <<<"$sorted")
+  printf '%-8s %10s %10s\n' "$mode" "$median" "$max"
+done
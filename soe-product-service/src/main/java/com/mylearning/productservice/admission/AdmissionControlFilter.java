@@ -0,0 +1,127 @@
+package com.mylearning.productservice.admission;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Admission control in front of the product routes. Requests over the concurrency limit
+ * wait briefly in a per-route-class queue (price first); anything that cannot be served
+ * in time is shed with an empty 503 and Retry-After, before any other work is done.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@Slf4j
+public class AdmissionControlFilter implements WebFilter {
+
+    private static final String SHED_METRIC = "admission.shed";
+
+    private final boolean enabled;
+    private final AdmissionController admissionController;
+    private final EventLoopLagMonitor lagMonitor;
+    private final Duration maxQueueWait;
+    private final long maxLagNanos;
+    private final String retryAfterSeconds;
+    private final Map<RouteClass, Map<String, Counter>> shedCounters = new EnumMap<>(RouteClass.class);
+
+    public AdmissionControlFilter(@Value("${admission.enabled:true}") boolean enabled,
+                                  @Value("${admission.max-concurrent:256}") int maxConcurrent,
+                                  @Value("${admission.price.max-concurrent:256}") int maxPrice,
+                                  @Value("${admission.details.max-concurrent:192}") int maxDetails,
+                                  @Value("${admission.bulk.max-concurrent:32}") int maxBulk,
+                                  @Value("${admission.queue-capacity:128}") int queueCapacity,
+                                  @Value("${admission.max-queue-wait:100ms}") Duration maxQueueWait,
+                                  @Value("${admission.max-event-loop-lag:200ms}") Duration maxEventLoopLag,
+                                  @Value("${admission.retry-after:1s}") Duration retryAfter,
+                                  EventLoopLagMonitor lagMonitor,
+                                  MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.admissionController = new AdmissionController(maxConcurrent,
+                Map.of(RouteClass.PRICE, maxPrice, RouteClass.DETAILS, maxDetails, RouteClass.BULK, maxBulk),
+                queueCapacity);
+        this.lagMonitor = lagMonitor;
+        this.maxQueueWait = maxQueueWait;
+        this.maxLagNanos = maxEventLoopLag.toNanos();
+        this.retryAfterSeconds = Long.toString(Math.max(1, retryAfter.toSeconds()));
+
+        for (RouteClass routeClass : RouteClass.values()) {
+            Map<String, Counter> byReason = new HashMap<>();
+            for (String reason : new String[]{"event-loop-lag", "queue-full", "queue-timeout"}) {
+                byReason.put(reason, Counter.builder(SHED_METRIC)
+                        .tag("route", routeClass.name().toLowerCase())
+                        .tag("reason", reason)
+                        .register(meterRegistry));
+            }
+            shedCounters.put(routeClass, byReason);
+        }
+        Gauge.builder("admission.in-flight", admissionController, AdmissionController::inFlight).register(meterRegistry);
+        Gauge.builder("admission.queued", admissionController, AdmissionController::queued).register(meterRegistry);
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        RouteClass routeClass = enabled ? RouteClass.of(exchange.getRequest()) : null;
+        if (routeClass == null) {
+            return chain.filter(exchange);
+        }
+
+        // Price lookups are the cheapest work we do, so they tolerate twice the lag.
+        long lagLimit = routeClass == RouteClass.PRICE ? maxLagNanos * 2 : maxLagNanos;
+        if (lagMonitor.lagNanos() > lagLimit) {
+            return shed(exchange, routeClass, "event-loop-lag");
+        }
+
+        AdmissionController.Ticket ticket = admissionController.tryAcquire(routeClass);
+        return switch (ticket.outcome()) {
+            case ADMITTED -> runAdmitted(exchange, chain, routeClass);
+            case REJECTED -> shed(exchange, routeClass, "queue-full");
+            case QUEUED -> awaitTurn(exchange, chain, ticket.waiter());
+        };
+    }
+
+    private Mono<Void> awaitTurn(ServerWebExchange exchange, WebFilterChain chain, AdmissionController.Waiter waiter) {
+        RouteClass routeClass = waiter.routeClass();
+        return waiter.granted()
+                .then(Mono.just(true))
+                // On timeout, a failed abandon means the permit arrived at the same moment: use it.
+                .timeout(maxQueueWait, Mono.fromSupplier(() -> !admissionController.abandon(waiter)))
+                .flatMap(granted -> granted && waiter.start()
+                        ? runAdmitted(exchange, chain, routeClass)
+                        : shed(exchange, routeClass, "queue-timeout"))
+                .doOnCancel(() -> {
+                    if (!admissionController.abandon(waiter) && waiter.start()) {
+                        admissionController.release(routeClass);
+                    }
+                });
+    }
+
+    private Mono<Void> runAdmitted(ServerWebExchange exchange, WebFilterChain chain, RouteClass routeClass) {
+        return chain.filter(exchange)
+                .doFinally(signal -> admissionController.release(routeClass));
+    }
+
+    private Mono<Void> shed(ServerWebExchange exchange, RouteClass routeClass, String reason) {
+        shedCounters.get(routeClass).get(reason).increment();
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+        response.getHeaders().set(HttpHeaders.RETRY_AFTER, retryAfterSeconds);
+        return response.setComplete();
+    }
+}
@@ -0,0 +1,139 @@
+package com.mylearning.productservice.admission;
+
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bounded concurrency with a bounded, per-route-class wait queue. A shared limit caps
+ * total in-flight requests and each class also has its own cap, so expensive routes can
+ * never take all the permits from cheap ones.
+ */
+public class AdmissionController {
+
+    public enum Outcome { ADMITTED, QUEUED, REJECTED }
+
+    private final int maxConcurrent;
+    private final Map<RouteClass, Integer> maxConcurrentByClass;
+    private final int queueCapacity;
+
+    private final Map<RouteClass, ArrayDeque<Waiter>> queues = new EnumMap<>(RouteClass.class);
+    private final Map<RouteClass, Integer> inFlightByClass = new EnumMap<>(RouteClass.class);
+    private int inFlight;
+
+    public AdmissionController(int maxConcurrent, Map<RouteClass, Integer> maxConcurrentByClass, int queueCapacity) {
+        this.maxConcurrent = maxConcurrent;
+        this.maxConcurrentByClass = new EnumMap<>(maxConcurrentByClass);
+        this.queueCapacity = queueCapacity;
+        for (RouteClass routeClass : RouteClass.values()) {
+            queues.put(routeClass, new ArrayDeque<>());
+            inFlightByClass.put(routeClass, 0);
+            this.maxConcurrentByClass.putIfAbsent(routeClass, maxConcurrent);
+        }
+    }
+
+    /** Result of {@link #tryAcquire}; carries the waiter when the request was queued. */
+    public record Ticket(Outcome outcome, Waiter waiter) {
+        private static final Ticket ADMITTED = new Ticket(Outcome.ADMITTED, null);
+        private static final Ticket REJECTED = new Ticket(Outcome.REJECTED, null);
+    }
+
+    public synchronized Ticket tryAcquire(RouteClass routeClass) {
+        if (canGrant(routeClass) && queues.get(routeClass).isEmpty()) {
+            grant(routeClass);
+            return Ticket.ADMITTED;
+        }
+        ArrayDeque<Waiter> queue = queues.get(routeClass);
+        if (queue.size() >= queueCapacity) {
+            return Ticket.REJECTED;
+        }
+        Waiter waiter = new Waiter(routeClass);
+        queue.addLast(waiter);
+        return new Ticket(Outcome.QUEUED, waiter);
+    }
+
+    public void release(RouteClass routeClass) {
+        List<Waiter> granted = new ArrayList<>();
+        synchronized (this) {
+            inFlight--;
+            inFlightByClass.merge(routeClass, -1, Integer::sum);
+            for (RouteClass candidate : RouteClass.values()) {
+                ArrayDeque<Waiter> queue = queues.get(candidate);
+                while (!queue.isEmpty() && canGrant(candidate)) {
+                    Waiter waiter = queue.pollFirst();
+                    if (waiter.state.compareAndSet(Waiter.WAITING, Waiter.GRANTED)) {
+                        grant(candidate);
+                        granted.add(waiter);
+                    }
+                }
+            }
+        }
+        // Signal outside the lock: waking a waiter runs its request chain on this thread.
+        granted.forEach(waiter -> waiter.signal.tryEmitEmpty());
+    }
+
+    /** Removes a waiter that gave up; false means it had already been granted a permit. */
+    public synchronized boolean abandon(Waiter waiter) {
+        if (!waiter.state.compareAndSet(Waiter.WAITING, Waiter.ABANDONED)) {
+            return false;
+        }
+        queues.get(waiter.routeClass).remove(waiter);
+        return true;
+    }
+
+    public synchronized int inFlight() {
+        return inFlight;
+    }
+
+    public synchronized int queued() {
+        return queues.values().stream().mapToInt(ArrayDeque::size).sum();
+    }
+
+    private boolean canGrant(RouteClass routeClass) {
+        return inFlight < maxConcurrent && inFlightByClass.get(routeClass) < maxConcurrentByClass.get(routeClass);
+    }
+
+    private void grant(RouteClass routeClass) {
+        inFlight++;
+        inFlightByClass.merge(routeClass, 1, Integer::sum);
+    }
+
+    /**
+     * A queued request. Exactly one of "granted a permit" and "abandoned" wins, so a
+     * permit handed to a waiter that has since timed out or been cancelled is returned.
+     */
+    public static final class Waiter {
+        private static final int WAITING = 0;
+        private static final int GRANTED = 1;
+        private static final int ABANDONED = 2;
+        private static final int RUNNING = 3;
+
+        private final RouteClass routeClass;
+        private final AtomicInteger state = new AtomicInteger(WAITING);
+        private final Sinks.Empty<Void> signal = Sinks.empty();
+
+        private Waiter(RouteClass routeClass) {
+            this.routeClass = routeClass;
+        }
+
+        public RouteClass routeClass() {
+            return routeClass;
+        }
+
+        /** Completes once a permit has been handed to this waiter. */
+        public Mono<Void> granted() {
+            return signal.asMono();
+        }
+
+        /** Claims the granted permit for the request; false if it was never granted or already claimed. */
+        public boolean start() {
+            return state.compareAndSet(GRANTED, RUNNING);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.mylearning.productservice.admission;
+
+import io.netty.channel.EventLoopGroup;
+import io.netty.util.concurrent.EventExecutor;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.netty.http.HttpResources;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Measures how late a periodic no-op task runs on each server event loop. A loop that is
+ * busy (or starved of CPU) runs it late, which is the earliest overload signal we have.
+ */
+@Component
+@Slf4j
+public class EventLoopLagMonitor {
+
+    private final long intervalNanos;
+    private final boolean enabled;
+    private final List<EventExecutor> loops = new ArrayList<>();
+    private AtomicLongArray lagNanos = new AtomicLongArray(0);
+    private volatile boolean running;
+
+    public EventLoopLagMonitor(@Value("${admission.lag-probe-interval:50ms}") Duration interval,
+                               @Value("${admission.enabled:true}") boolean enabled) {
+        this.intervalNanos = interval.toNanos();
+        this.enabled = enabled;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        // Boot's Netty server runs on the global HttpResources loops.
+        EventLoopGroup group = HttpResources.get().onServer(true);
+        group.forEach(loops::add);
+        lagNanos = new AtomicLongArray(loops.size());
+        running = true;
+        for (int i = 0; i < loops.size(); i++) {
+            probe(i);
+        }
+        log.info("Monitoring event-loop lag on {} loops", loops.size());
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+    }
+
+    private void probe(int index) {
+        long scheduledAt = System.nanoTime();
+        loops.get(index).schedule(() -> {
+            lagNanos.set(index, Math.max(0, System.nanoTime() - scheduledAt - intervalNanos));
+            if (running) {
+                probe(index);
+            }
+        }, intervalNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /** Worst lag seen on any loop in the most recent probe round. */
+    public long lagNanos() {
+        AtomicLongArray current = lagNanos;
+        long max = 0;
+        for (int i = 0; i < current.length(); i++) {
+            max = Math.max(max, current.get(i));
+        }
+        return max;
+    }
+}
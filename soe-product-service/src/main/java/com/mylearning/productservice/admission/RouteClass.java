@@ -0,0 +1,37 @@
+package com.mylearning.productservice.admission;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+
+/**
+ * Cost classes of the product routes, declared in priority order: when capacity frees
+ * up, queued PRICE requests are admitted before DETAILS, and DETAILS before BULK.
+ */
+public enum RouteClass {
+    PRICE,
+    DETAILS,
+    BULK;
+
+    private static final String BASE_PATH = "/api/products";
+
+    /** Returns null for routes that are not subject to admission control (streams, actuator, docs). */
+    public static RouteClass of(ServerHttpRequest request) {
+        String path = request.getPath().value();
+        if (!path.startsWith(BASE_PATH) || path.endsWith("/stream")) {
+            return null;
+        }
+        if (path.endsWith("/price")) {
+            return PRICE;
+        }
+        if (path.endsWith("/details")) {
+            return DETAILS;
+        }
+        if (path.length() == BASE_PATH.length() && request.getMethod() == HttpMethod.GET) {
+            return BULK;
+        }
+        if (path.endsWith("/quote")) {
+            return BULK;
+        }
+        return null;
+    }
+}
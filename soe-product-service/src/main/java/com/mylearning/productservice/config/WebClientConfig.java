@@ -1,6 +1,8 @@
 package com.mylearning.productservice.config;
 
+import com.mylearning.productservice.deadline.DeadlineExchangeFilter;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.reactive.function.client.WebClientCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.reactive.function.client.WebClient;
@@ -17,4 +19,9 @@ public class WebClientConfig {
                 .baseUrl(aggregatorBaseUrl)
                 .build();
     }
+
+    @Bean
+    public WebClientCustomizer deadlineWebClientCustomizer(DeadlineExchangeFilter deadlineExchangeFilter) {
+        return builder -> builder.filter(deadlineExchangeFilter);
+    }
 }
\ No newline at end of file
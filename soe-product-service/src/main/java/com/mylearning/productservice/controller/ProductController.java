@@ -1,15 +1,22 @@
 package com.mylearning.productservice.controller;
 
 import com.mylearning.productservice.dto.ApiResponse;
+import com.mylearning.productservice.dto.PriceChangeEvent;
 import com.mylearning.productservice.dto.ProductDto;
+import com.mylearning.productservice.dto.QuoteRequest;
+import com.mylearning.productservice.dto.QuoteResponse;
+import com.mylearning.productservice.service.PriceStreamService;
 import com.mylearning.productservice.service.ProductService;
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.time.Instant;
@@ -23,6 +30,7 @@ import java.util.List;
 public class ProductController {
 
     private final ProductService productService;
+    private final PriceStreamService priceStreamService;
 
     @GetMapping("/{id}/details")
     public Mono<ApiResponse<ProductDto>> getProductDetails(
@@ -49,6 +57,21 @@ public class ProductController {
                 .map(price -> buildSuccess(exchange, "Price fetched successfully", price));
     }
 
+    @PostMapping("/quote")
+    public Mono<ApiResponse<QuoteResponse>> getQuote(
+            @Valid @RequestBody QuoteRequest request,
+            ServerWebExchange exchange) {
+
+        return productService.getQuote(request)
+                .map(quote -> buildSuccess(exchange, "Quote calculated", quote));
+    }
+
+    @GetMapping(value = "/prices/stream",
+            produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    public Flux<PriceChangeEvent> streamPriceChanges() {
+        return priceStreamService.priceChanges();
+    }
+
     private <T> ApiResponse<T> buildSuccess(ServerWebExchange exchange, String message, T data) {
         return ApiResponse.<T>builder()
                 .timestamp(Instant.now())
@@ -0,0 +1,122 @@
+package com.mylearning.productservice.deadline;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mylearning.productservice.dto.ApiResponse;
+import com.mylearning.productservice.exception.DeadlineExceededException;
+import com.mylearning.productservice.exception.GlobalExceptionHandler;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Establishes the request deadline from the {@value #HEADER} header (or the configured
+ * default), then bounds the whole handler chain by it. When the budget runs out the
+ * chain is cancelled, which also cancels any in-flight downstream calls and retries.
+ * <p>
+ * Errors raised here never reach the controller advice, so both 504 paths hand a
+ * {@link DeadlineExceededException} to {@link GlobalExceptionHandler} themselves and
+ * write its envelope, matching a deadline that runs out inside a handler.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@Slf4j
+public class DeadlineWebFilter implements WebFilter {
+
+    public static final String HEADER = "X-Deadline-Remaining-Ms";
+    public static final String METRIC = "request.deadline.exceeded";
+    private static final String TIER = "soe";
+
+    private final Duration defaultBudget;
+    private final Duration maxBudget;
+    private final Counter expiredOnArrival;
+    private final Counter timedOut;
+    private final GlobalExceptionHandler exceptionHandler;
+    private final ObjectMapper objectMapper;
+
+    public DeadlineWebFilter(@Value("${request.deadline.default:3s}") Duration defaultBudget,
+                             @Value("${request.deadline.max:10s}") Duration maxBudget,
+                             MeterRegistry meterRegistry,
+                             GlobalExceptionHandler exceptionHandler,
+                             ObjectMapper objectMapper) {
+        this.defaultBudget = defaultBudget;
+        this.maxBudget = maxBudget;
+        this.expiredOnArrival = Counter.builder(METRIC).tag("tier", TIER).tag("reason", "arrival").register(meterRegistry);
+        this.timedOut = Counter.builder(METRIC).tag("tier", TIER).tag("reason", "timeout").register(meterRegistry);
+        this.exceptionHandler = exceptionHandler;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        // Long-lived streams are not request/response work and must not be cut off.
+        if (exchange.getRequest().getPath().value().endsWith("/stream")) {
+            return chain.filter(exchange);
+        }
+
+        Duration budget = resolveBudget(exchange.getRequest());
+        if (budget == null) {
+            return chain.filter(exchange);
+        }
+        if (budget.isZero() || budget.isNegative()) {
+            expiredOnArrival.increment();
+            return deadlineExceeded(exchange, new DeadlineExceededException("Request arrived with no deadline budget left"));
+        }
+
+        Deadline deadline = Deadline.after(budget);
+        return chain.filter(exchange)
+                .timeout(budget)
+                .onErrorResume(TimeoutException.class, ex -> {
+                    timedOut.increment();
+                    log.warn("Deadline of {}ms exceeded for {}", budget.toMillis(), exchange.getRequest().getPath());
+                    return deadlineExceeded(exchange, new DeadlineExceededException("Request deadline exceeded"));
+                })
+                .contextWrite(ctx -> ctx.put(Deadline.class, deadline));
+    }
+
+    private Mono<Void> deadlineExceeded(ServerWebExchange exchange, DeadlineExceededException ex) {
+        ServerHttpResponse response = exchange.getResponse();
+        if (response.isCommitted()) {
+            // Part of the body is already out (a streamed list); all that is left is to abort it.
+            return Mono.error(ex);
+        }
+        ResponseEntity<ApiResponse<Object>> error = exceptionHandler.handleDeadlineExceeded(ex, exchange);
+        byte[] body;
+        try {
+            body = objectMapper.writeValueAsBytes(error.getBody());
+        } catch (JsonProcessingException jsonEx) {
+            return Mono.error(jsonEx);
+        }
+        response.setStatusCode(error.getStatusCode());
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
+    }
+
+    private Duration resolveBudget(ServerHttpRequest request) {
+        String header = request.getHeaders().getFirst(HEADER);
+        if (header != null) {
+            try {
+                Duration requested = Duration.ofMillis(Long.parseLong(header.trim()));
+                return requested.compareTo(maxBudget) > 0 ? maxBudget : requested;
+            } catch (NumberFormatException ex) {
+                log.debug("Ignoring malformed {} header: {}", HEADER, header);
+            }
+        }
+        return defaultBudget.isZero() ? null : defaultBudget;
+    }
+}
@@ -0,0 +1,16 @@
+package com.mylearning.productservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PriceChangeEvent {
+    private String id;
+    private Double price;
+    private Instant changedAt;
+}
@@ -0,0 +1,15 @@
+package com.mylearning.productservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class QuoteLineResult {
+    private String id;
+    private int quantity;
+    private double unitPrice;
+    private double lineTotal;
+}
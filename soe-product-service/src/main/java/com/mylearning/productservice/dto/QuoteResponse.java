@@ -0,0 +1,15 @@
+package com.mylearning.productservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class QuoteResponse {
+    private List<QuoteLineResult> lines;
+    private double total;
+}
@@ -10,6 +10,7 @@ import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
 import org.springframework.web.server.ServerWebExchange;
 
@@ -39,6 +40,38 @@ public class GlobalExceptionHandler {
         );
     }
 
+    @ExceptionHandler(ProductNotFoundException.class)
+    public ResponseEntity<ApiResponse<Object>> handleProductNotFound(
+            ProductNotFoundException ex,
+            ServerWebExchange exchange) {
+
+        log.debug("Not found: {}", ex.getMessage());
+
+        return buildErrorResponse(
+                HttpStatus.NOT_FOUND,
+                exchange,
+                ex.getMessage(),
+                List.of(ApiError.builder().code("NOT_FOUND").message(ex.getMessage()).build()),
+                null
+        );
+    }
+
+    @ExceptionHandler(DeadlineExceededException.class)
+    public ResponseEntity<ApiResponse<Object>> handleDeadlineExceeded(
+            DeadlineExceededException ex,
+            ServerWebExchange exchange) {
+
+        log.warn("Deadline exceeded: {}", ex.getMessage());
+
+        return buildErrorResponse(
+                HttpStatus.GATEWAY_TIMEOUT,
+                exchange,
+                ex.getMessage(),
+                List.of(ApiError.builder().code("DEADLINE_EXCEEDED").message(ex.getMessage()).build()),
+                null
+        );
+    }
+
     @ExceptionHandler(WebClientResponseException.class)
     @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
     public ResponseEntity<ApiResponse<Object>> handleWebClientError(
@@ -99,6 +132,27 @@ public class GlobalExceptionHandler {
         return buildErrorResponse(HttpStatus.BAD_REQUEST, exchange, "Validation failed", errorList, fieldErrors);
     }
 
+    @ExceptionHandler(WebExchangeBindException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ResponseEntity<ApiResponse<Object>> handleInvalidBody(
+            WebExchangeBindException ex, ServerWebExchange exchange) {
+
+        List<ApiError> errorList = ex.getFieldErrors().stream()
+                .map(e -> ApiError.builder()
+                        .message(e.getField() + ": " + e.getDefaultMessage())
+                        .build())
+                .collect(Collectors.toList());
+
+        Map<String, String> fieldErrors = ex.getFieldErrors().stream()
+                .collect(Collectors.toMap(
+                        e -> e.getField(),
+                        e -> e.getDefaultMessage(),
+                        (msg1, msg2) -> msg1
+                ));
+
+        return buildErrorResponse(HttpStatus.BAD_REQUEST, exchange, "Validation failed", errorList, fieldErrors);
+    }
+
     @ExceptionHandler(Exception.class)
     @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
     public ResponseEntity<ApiResponse<Object>> handleGeneralError(
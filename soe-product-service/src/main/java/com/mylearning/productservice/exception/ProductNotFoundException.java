@@ -0,0 +1,15 @@
+package com.mylearning.productservice.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * The aggregator answered 404. Routine for unknown ids, so no stack trace is captured
+ * and the circuit breaker ignores it.
+ */
+@ResponseStatus(HttpStatus.NOT_FOUND)
+public class ProductNotFoundException extends RuntimeException {
+    public ProductNotFoundException(String message) {
+        super(message, null, false, false);
+    }
+}
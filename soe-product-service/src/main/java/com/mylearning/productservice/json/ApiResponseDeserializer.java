@@ -0,0 +1,96 @@
+package com.mylearning.productservice.json;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.deser.ContextualDeserializer;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+import com.mylearning.productservice.dto.ApiError;
+import com.mylearning.productservice.dto.ApiResponse;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads envelopes from the aggregator. The aggregator's own fields (apiSuccess, timeStamp) have
+ * no counterpart here and are skipped, as the default mapper does. The deserializers for
+ * {@code data}, {@code errors} and {@code fieldErrors} are resolved once per target type,
+ * e.g. ApiResponse&lt;ProductDto&gt;, and cached by Jackson with this contextual instance.
+ */
+public class ApiResponseDeserializer extends StdDeserializer<ApiResponse<Object>> implements ContextualDeserializer {
+
+    private final JsonDeserializer<Object> dataDeserializer;
+    private final JsonDeserializer<Object> errorsDeserializer;
+    private final JsonDeserializer<Object> fieldErrorsDeserializer;
+
+    public ApiResponseDeserializer() {
+        this(null, null, null);
+    }
+
+    private ApiResponseDeserializer(JsonDeserializer<Object> dataDeserializer,
+                                    JsonDeserializer<Object> errorsDeserializer,
+                                    JsonDeserializer<Object> fieldErrorsDeserializer) {
+        super(ApiResponse.class);
+        this.dataDeserializer = dataDeserializer;
+        this.errorsDeserializer = errorsDeserializer;
+        this.fieldErrorsDeserializer = fieldErrorsDeserializer;
+    }
+
+    @Override
+    public JsonDeserializer<?> createContextual(DeserializationContext ctxt, BeanProperty property) throws JsonMappingException {
+        JavaType type = property != null ? property.getType() : ctxt.getContextualType();
+        TypeFactory types = ctxt.getTypeFactory();
+        JavaType dataType = type != null && type.containedTypeCount() == 1
+                ? type.containedType(0)
+                : types.constructType(Object.class);
+        return new ApiResponseDeserializer(
+                ctxt.findContextualValueDeserializer(dataType, property),
+                ctxt.findContextualValueDeserializer(types.constructCollectionType(List.class, ApiError.class), property),
+                ctxt.findContextualValueDeserializer(types.constructMapType(Map.class, String.class, String.class), property));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public ApiResponse<Object> deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+        String field;
+        if (p.isExpectedStartObjectToken()) {
+            field = p.nextFieldName();
+        } else if (p.hasToken(JsonToken.FIELD_NAME)) {
+            field = p.currentName();
+        } else {
+            return (ApiResponse<Object>) ctxt.handleUnexpectedToken(ApiResponse.class, p);
+        }
+
+        ApiResponse<Object> response = new ApiResponse<>();
+        for (; field != null; field = p.nextFieldName()) {
+            if (p.nextToken() == JsonToken.VALUE_NULL) {
+                continue;
+            }
+            switch (field) {
+                case "timestamp" -> response.setTimestamp(readInstant(p, ctxt));
+                case "status" -> response.setStatus(p.getValueAsInt());
+                case "path" -> response.setPath(p.getValueAsString());
+                case "message" -> response.setMessage(p.getValueAsString());
+                case "data" -> response.setData(dataDeserializer.deserialize(p, ctxt));
+                case "errors" -> response.setErrors((List<ApiError>) errorsDeserializer.deserialize(p, ctxt));
+                case "fieldErrors" -> response.setFieldErrors((Map<String, String>) fieldErrorsDeserializer.deserialize(p, ctxt));
+                default -> p.skipChildren();
+            }
+        }
+        return response;
+    }
+
+    private static Instant readInstant(JsonParser p, DeserializationContext ctxt) throws IOException {
+        if (p.hasToken(JsonToken.VALUE_STRING)) {
+            return Instant.parse(p.getText());
+        }
+        return ctxt.readValue(p, Instant.class);
+    }
+}
@@ -0,0 +1,44 @@
+package com.mylearning.productservice.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.mylearning.productservice.dto.ApiResponse;
+
+import java.io.IOException;
+
+/** Same JSON as the reflective bean serializer, in the same field order, with pre-encoded names. */
+public class ApiResponseSerializer extends StdSerializer<ApiResponse<?>> {
+
+    private static final SerializedString TIMESTAMP = new SerializedString("timestamp");
+    private static final SerializedString STATUS = new SerializedString("status");
+    private static final SerializedString PATH = new SerializedString("path");
+    private static final SerializedString MESSAGE = new SerializedString("message");
+
+    public ApiResponseSerializer() {
+        super(ApiResponse.class, false);
+    }
+
+    @Override
+    public void serialize(ApiResponse<?> value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject(value);
+        gen.writeFieldName(TIMESTAMP);
+        if (provider.isEnabled(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)) {
+            provider.defaultSerializeValue(value.getTimestamp(), gen);
+        } else {
+            IsoInstants.write(value.getTimestamp(), gen);
+        }
+        gen.writeFieldName(STATUS);
+        gen.writeNumber(value.getStatus());
+        gen.writeFieldName(PATH);
+        gen.writeString(value.getPath());
+        gen.writeFieldName(MESSAGE);
+        gen.writeString(value.getMessage());
+        provider.defaultSerializeField("data", value.getData(), gen);
+        provider.defaultSerializeField("errors", value.getErrors(), gen);
+        provider.defaultSerializeField("fieldErrors", value.getFieldErrors(), gen);
+        gen.writeEndObject();
+    }
+}
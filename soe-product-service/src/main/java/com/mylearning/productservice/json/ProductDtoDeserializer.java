@@ -0,0 +1,57 @@
+package com.mylearning.productservice.json;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.mylearning.productservice.dto.ProductDto;
+
+import java.io.IOException;
+
+/** Reads the aggregator's products; unknown fields (description) are skipped, as with the default mapper. */
+public class ProductDtoDeserializer extends StdDeserializer<ProductDto> {
+
+    public ProductDtoDeserializer() {
+        super(ProductDto.class);
+    }
+
+    @Override
+    public ProductDto deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+        String field;
+        if (p.isExpectedStartObjectToken()) {
+            field = p.nextFieldName();
+        } else if (p.hasToken(JsonToken.FIELD_NAME)) {
+            field = p.currentName();
+        } else {
+            return (ProductDto) ctxt.handleUnexpectedToken(ProductDto.class, p);
+        }
+
+        ProductDto product = new ProductDto();
+        for (; field != null; field = p.nextFieldName()) {
+            JsonToken token = p.nextToken();
+            switch (field) {
+                case "id" -> product.setId(p.getValueAsString());
+                case "name" -> product.setName(p.getValueAsString());
+                case "price" -> product.setPrice(token == JsonToken.VALUE_NULL ? null : readPrice(p, ctxt));
+                default -> p.skipChildren();
+            }
+        }
+        return product;
+    }
+
+    /*
+     * Numbers are read directly. Strings and nulls take the standard path, which applies the
+     * same coercions and rejections as the reflective mapper. Anything else is an error rather
+     * than a silent 0.0.
+     */
+    private double readPrice(JsonParser p, DeserializationContext ctxt) throws IOException {
+        JsonToken token = p.currentToken();
+        if (token == JsonToken.VALUE_NUMBER_INT || token == JsonToken.VALUE_NUMBER_FLOAT) {
+            return p.getDoubleValue();
+        }
+        if (token == JsonToken.VALUE_STRING || token == JsonToken.VALUE_NULL) {
+            return _parseDoublePrimitive(p, ctxt);
+        }
+        return ctxt.reportInputMismatch(this, "Cannot read product price from %s", token);
+    }
+}
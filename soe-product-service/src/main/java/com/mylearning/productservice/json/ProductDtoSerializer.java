@@ -0,0 +1,36 @@
+package com.mylearning.productservice.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.mylearning.productservice.dto.ProductDto;
+
+import java.io.IOException;
+
+public class ProductDtoSerializer extends StdSerializer<ProductDto> {
+
+    private static final SerializedString ID = new SerializedString("id");
+    private static final SerializedString NAME = new SerializedString("name");
+    private static final SerializedString PRICE = new SerializedString("price");
+
+    public ProductDtoSerializer() {
+        super(ProductDto.class);
+    }
+
+    @Override
+    public void serialize(ProductDto value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject(value);
+        gen.writeFieldName(ID);
+        gen.writeString(value.getId());
+        gen.writeFieldName(NAME);
+        gen.writeString(value.getName());
+        gen.writeFieldName(PRICE);
+        if (value.getPrice() == null) {
+            gen.writeNull();
+        } else {
+            gen.writeNumber(value.getPrice());
+        }
+        gen.writeEndObject();
+    }
+}
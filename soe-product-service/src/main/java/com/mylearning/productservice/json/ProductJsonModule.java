@@ -0,0 +1,24 @@
+package com.mylearning.productservice.json;
+
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.mylearning.productservice.dto.ApiResponse;
+import com.mylearning.productservice.dto.ProductDto;
+import org.springframework.stereotype.Component;
+
+/**
+ * Hand-written codecs for the hottest types. Boot registers every Module bean with its
+ * ObjectMapper, so these apply to the WebFlux codecs, to WebClient and to the error-body
+ * parsing in ProductService alike.
+ */
+@Component
+public class ProductJsonModule extends SimpleModule {
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    public ProductJsonModule() {
+        super("product-json");
+        addSerializer(new ApiResponseSerializer());
+        addSerializer(new ProductDtoSerializer());
+        addDeserializer((Class) ApiResponse.class, new ApiResponseDeserializer());
+        addDeserializer(ProductDto.class, new ProductDtoDeserializer());
+    }
+}
@@ -0,0 +1,54 @@
+package com.mylearning.productservice.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mylearning.productservice.dto.ApiError;
+import com.mylearning.productservice.dto.ApiResponse;
+import com.mylearning.productservice.exception.AggregatorUnavailableException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Turns a failed aggregator call into an {@link AggregatorUnavailableException}, keeping the
+ * aggregator's own error entries when its response body is an {@link ApiResponse} envelope.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AggregatorErrorParser {
+
+    private final ObjectMapper objectMapper;
+
+    public AggregatorUnavailableException toAggregatorUnavailable(String context, Throwable ex) {
+        if (ex instanceof WebClientResponseException wex) {
+            try {
+                // Parse with generic Object since ApiResponse is generic
+                ApiResponse<Object> raw = objectMapper.readValue(
+                        wex.getResponseBodyAsString(),
+                        new TypeReference<>() {}
+                );
+
+                // Try mapping each entry of 'errors' to ApiError
+                List<ApiError> errors = raw.getErrors() != null ? raw.getErrors() : Collections.emptyList();
+
+                String message = errors.stream()
+                        .findFirst()
+                        .map(ApiError::getMessage)
+                        .orElse("Unknown aggregator error");
+
+                return new AggregatorUnavailableException("Aggregator error while fetching " + context + ": " + message, errors);
+
+            } catch (Exception e) {
+                log.warn("Failed to parse error body from aggregator: {}", e.getMessage());
+                return new AggregatorUnavailableException("Aggregator error while fetching " + context, wex);
+            }
+        }
+
+        return new AggregatorUnavailableException("Aggregator error while fetching " + context, ex);
+    }
+}
@@ -0,0 +1,77 @@
+package com.mylearning.productservice.service;
+
+import com.mylearning.productservice.dto.PriceChangeEvent;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.Disposable;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+
+/**
+ * Relays the aggregator price stream: a single upstream subscription shared by all
+ * SOE stream clients, each with its own bounded drop-oldest buffer.
+ */
+@Service
+@Slf4j
+public class PriceStreamService {
+
+    private final WebClient aggregatorWebClient;
+    private final boolean enabled;
+    private final int subscriberBufferSize;
+
+    private final Sinks.Many<PriceChangeEvent> sink = Sinks.many().multicast().directBestEffort();
+    private Disposable upstream;
+
+    public PriceStreamService(WebClient aggregatorWebClient,
+                              @Value("${aggregator.price-stream.enabled:true}") boolean enabled,
+                              @Value("${aggregator.price-stream.subscriber-buffer:256}") int subscriberBufferSize) {
+        this.aggregatorWebClient = aggregatorWebClient;
+        this.enabled = enabled;
+        this.subscriberBufferSize = subscriberBufferSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            log.info("Price stream disabled");
+            return;
+        }
+
+        upstream = Flux.defer(() -> aggregatorWebClient.get()
+                        .uri("/prices/stream")
+                        .accept(MediaType.APPLICATION_NDJSON)
+                        .retrieve()
+                        .bodyToFlux(PriceChangeEvent.class))
+                .doOnSubscribe(s -> log.info("Subscribing to aggregator price stream"))
+                .doOnError(ex -> log.warn("Aggregator price stream failed: {}", ex.getMessage()))
+                .repeatWhen(completed -> completed.delayElements(Duration.ofSeconds(1)))
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1))
+                        .maxBackoff(Duration.ofSeconds(30))
+                        .transientErrors(true))
+                .subscribe(sink::tryEmitNext);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (upstream != null) {
+            upstream.dispose();
+        }
+    }
+
+    public Flux<PriceChangeEvent> priceChanges() {
+        return sink.asFlux()
+                .onBackpressureBuffer(subscriberBufferSize,
+                        dropped -> log.debug("Dropping price event {} for slow subscriber", dropped.getId()),
+                        BufferOverflowStrategy.DROP_OLDEST);
+    }
+}
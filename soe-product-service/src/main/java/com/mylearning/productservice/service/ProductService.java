@@ -1,25 +1,28 @@
 package com.mylearning.productservice.service;
 
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.mylearning.productservice.dto.ApiError;
 import com.mylearning.productservice.dto.ApiResponse;
 import com.mylearning.productservice.dto.ProductDto;
-import com.mylearning.productservice.exception.AggregatorUnavailableException;
+import com.mylearning.productservice.dto.QuoteRequest;
+import com.mylearning.productservice.dto.QuoteResponse;
+import com.mylearning.productservice.exception.DeadlineExceededException;
+import com.mylearning.productservice.exception.ProductNotFoundException;
+import com.mylearning.productservice.tracing.CallObservation;
 import io.github.resilience4j.circuitbreaker.CircuitBreaker;
 import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
 import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import io.micrometer.observation.ObservationRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpStatusCode;
 import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.ClientResponse;
 import org.springframework.web.reactive.function.client.WebClient;
-import org.springframework.web.reactive.function.client.WebClientResponseException;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
-import java.util.Collections;
 import java.util.List;
+import java.util.function.Predicate;
 
 @Service
 @RequiredArgsConstructor
@@ -28,9 +31,17 @@ public class ProductService {
 
     private final WebClient aggregatorWebClient;
     private final CircuitBreakerRegistry circuitBreakerRegistry;
-    private final ObjectMapper objectMapper;
+    private final AggregatorErrorParser errorParser;
+    private final ObservationRegistry observationRegistry;
 
     private static final String CB_NAME = "productServiceCB";
+    /* 404s become a stackless ProductNotFoundException without building a WebClientResponseException. */
+    private static final Predicate<HttpStatusCode> NOT_FOUND = status -> status.value() == 404;
+    /*
+     * An aggregator 504 means the caller's budget ran out, not that the aggregator is unhealthy. It is
+     * mapped before the breaker sees it, so ignoreExceptions keeps it out of productServiceCB.
+     */
+    private static final Predicate<HttpStatusCode> GATEWAY_TIMEOUT = status -> status.value() == 504;
 
     private CircuitBreaker getCircuitBreaker() {
         return circuitBreakerRegistry.circuitBreaker(CB_NAME);
@@ -39,6 +50,7 @@ public class ProductService {
     private static final ParameterizedTypeReference<ApiResponse<ProductDto>> PRODUCT_REF = new ParameterizedTypeReference<>() {};
     private static final ParameterizedTypeReference<ApiResponse<List<ProductDto>>> LIST_REF = new ParameterizedTypeReference<>() {};
     private static final ParameterizedTypeReference<ApiResponse<Double>> PRICE_REF = new ParameterizedTypeReference<>() {};
+    private static final ParameterizedTypeReference<ApiResponse<QuoteResponse>> QUOTE_REF = new ParameterizedTypeReference<>() {};
 
     public Mono<ProductDto> getProductDetails(String id) {
         log.info("Fetching product details for id {}", id);
@@ -46,9 +58,13 @@ public class ProductService {
         return aggregatorWebClient.get()
                 .uri("/{id}", id)
                 .retrieve()
+                .onStatus(NOT_FOUND, response -> response.releaseBody()
+                        .thenReturn(new ProductNotFoundException("Product with ID " + id + " not found.")))
+                .onStatus(GATEWAY_TIMEOUT, response -> deadlineExceeded(response, "product " + id))
                 .bodyToMono(PRODUCT_REF)
                 .map(ApiResponse::getData)
                 .transformDeferred(CircuitBreakerOperator.of(getCircuitBreaker()))
+                .transform(call -> observed("details", call))
                 .onErrorResume(ex -> handleError("product " + id, ex));
     }
 
@@ -58,10 +74,12 @@ public class ProductService {
         return aggregatorWebClient.get()
                 .uri("")
                 .retrieve()
+                .onStatus(GATEWAY_TIMEOUT, response -> deadlineExceeded(response, "all products"))
                 .bodyToMono(LIST_REF)
                 .map(ApiResponse::getData)
                 .flatMapMany(Flux::fromIterable)
                 .transformDeferred(CircuitBreakerOperator.of(getCircuitBreaker()))
+                .transform(call -> observedMany("all", call))
                 .onErrorResume(ex -> handleErrorFlux("all products", ex));
     }
 
@@ -71,45 +89,66 @@ public class ProductService {
         return aggregatorWebClient.get()
                 .uri("/{id}/price", id)
                 .retrieve()
+                .onStatus(NOT_FOUND, response -> response.releaseBody()
+                        .thenReturn(new ProductNotFoundException("Product with ID " + id + " not found.")))
+                .onStatus(GATEWAY_TIMEOUT, response -> deadlineExceeded(response, "price for product " + id))
                 .bodyToMono(PRICE_REF)
                 .map(ApiResponse::getData)
                 .transformDeferred(CircuitBreakerOperator.of(getCircuitBreaker()))
+                .transform(call -> observed("price", call))
                 .onErrorResume(ex -> handleError("price for product " + id, ex));
     }
 
+    public Mono<QuoteResponse> getQuote(QuoteRequest request) {
+        log.info("Fetching quote for {} lines", request.getLines().size());
+
+        return aggregatorWebClient.post()
+                .uri("/quote")
+                .bodyValue(request)
+                .retrieve()
+                .onStatus(NOT_FOUND, response -> response.releaseBody()
+                        .thenReturn(new ProductNotFoundException("Quote contains an unknown product")))
+                .onStatus(GATEWAY_TIMEOUT, response -> deadlineExceeded(response, "quote"))
+                .bodyToMono(QUOTE_REF)
+                .map(ApiResponse::getData)
+                .transformDeferred(CircuitBreakerOperator.of(getCircuitBreaker()))
+                .transform(call -> observed("quote", call))
+                .onErrorResume(ex -> handleError("quote", ex));
+    }
+
+    /* One aggregator.call span per call, covering breaker rejections that never reach the WebClient. */
+    private <T> Mono<T> observed(String route, Mono<T> call) {
+        return Mono.deferContextual(context -> CallObservation.observe(call,
+                CallObservation.start("aggregator.call", observationRegistry, context)
+                        .lowCardinalityKeyValue("route", route)));
+    }
+
+    private <T> Flux<T> observedMany(String route, Flux<T> call) {
+        return Flux.deferContextual(context -> CallObservation.observe(call,
+                CallObservation.start("aggregator.call", observationRegistry, context)
+                        .lowCardinalityKeyValue("route", route)));
+    }
+
+    private static Mono<DeadlineExceededException> deadlineExceeded(ClientResponse response, String context) {
+        return response.releaseBody()
+                .thenReturn(new DeadlineExceededException("Aggregator ran out of time while fetching " + context));
+    }
+
     private <T> Mono<T> handleError(String context, Throwable ex) {
-        return Mono.error(toAggregatorUnavailable(context, ex));
+        return Mono.error(toClientException(context, ex));
     }
 
     private <T> Flux<T> handleErrorFlux(String context, Throwable ex) {
-        return Flux.error(toAggregatorUnavailable(context, ex));
+        return Flux.error(toClientException(context, ex));
     }
 
-    private AggregatorUnavailableException toAggregatorUnavailable(String context, Throwable ex) {
-        if (ex instanceof WebClientResponseException wex) {
-            try {
-                // Parse with generic Object since ApiResponse is generic
-                ApiResponse<Object> raw = objectMapper.readValue(
-                        wex.getResponseBodyAsString(),
-                        new TypeReference<>() {}
-                );
-
-                // Try mapping each entry of 'errors' to ApiError
-                List<ApiError> errors = raw.getErrors() != null ? raw.getErrors() : Collections.emptyList();
-
-                String message = errors.stream()
-                        .findFirst()
-                        .map(ApiError::getMessage)
-                        .orElse("Unknown aggregator error");
-
-                return new AggregatorUnavailableException("Aggregator error while fetching " + context + ": " + message, errors);
-
-            } catch (Exception e) {
-                log.warn("Failed to parse error body from aggregator: {}", e.getMessage());
-                return new AggregatorUnavailableException("Aggregator error while fetching " + context, wex);
-            }
+    private RuntimeException toClientException(String context, Throwable ex) {
+        if (ex instanceof DeadlineExceededException deadlineEx) {
+            return deadlineEx;
         }
-
-        return new AggregatorUnavailableException("Aggregator error while fetching " + context, ex);
+        if (ex instanceof ProductNotFoundException notFoundEx) {
+            return notFoundEx;
+        }
+        return errorParser.toAggregatorUnavailable(context, ex);
     }
 }
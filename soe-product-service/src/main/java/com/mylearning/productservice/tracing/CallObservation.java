@@ -0,0 +1,84 @@
+package com.mylearning.productservice.tracing;
+
+import com.mylearning.productservice.exception.DeadlineExceededException;
+import com.mylearning.productservice.exception.ProductNotFoundException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.observation.contextpropagation.ObservationThreadLocalAccessor;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+import reactor.util.context.ContextView;
+
+/**
+ * Wraps one aggregator call in an observation, a span when tracing is on, so a call the
+ * breaker refused still gets a span tagged {@code outcome=rejected}. The observation is
+ * written to the Reactor context, where WebClient finds it as the parent of its client span.
+ */
+public final class CallObservation {
+
+    private static final String OUTCOME = "outcome";
+
+    private CallObservation() {
+    }
+
+    public static Observation start(String name, ObservationRegistry registry, ContextView context) {
+        return Observation.createNotStarted(name, registry)
+                .parentObservation(context.getOrDefault(ObservationThreadLocalAccessor.KEY, null))
+                .start();
+    }
+
+    public static <T> Mono<T> observe(Mono<T> call, Observation observation) {
+        if (observation.isNoop()) {
+            return call;
+        }
+        return call
+                .doOnError(ex -> failed(observation, ex))
+                .doFinally(signal -> stop(observation, signal))
+                .contextWrite(context -> context.put(ObservationThreadLocalAccessor.KEY, observation));
+    }
+
+    public static <T> Flux<T> observe(Flux<T> call, Observation observation) {
+        if (observation.isNoop()) {
+            return call;
+        }
+        return call
+                .doOnError(ex -> failed(observation, ex))
+                .doFinally(signal -> stop(observation, signal))
+                .contextWrite(context -> context.put(ObservationThreadLocalAccessor.KEY, observation));
+    }
+
+    private static void failed(Observation observation, Throwable ex) {
+        observation.lowCardinalityKeyValue(OUTCOME, outcomeOf(ex));
+        if (!(ex instanceof ProductNotFoundException)) {
+            observation.error(ex);
+        }
+    }
+
+    private static void stop(Observation observation, SignalType signal) {
+        if (signal == SignalType.ON_COMPLETE) {
+            observation.lowCardinalityKeyValue(OUTCOME, "success");
+        } else if (signal == SignalType.CANCEL) {
+            observation.lowCardinalityKeyValue(OUTCOME, "cancelled");
+        }
+        observation.stop();
+    }
+
+    static String outcomeOf(Throwable ex) {
+        if (ex instanceof CallNotPermittedException) {
+            return "rejected";
+        }
+        if (ex instanceof ProductNotFoundException) {
+            return "not-found";
+        }
+        if (ex instanceof DeadlineExceededException) {
+            return "deadline";
+        }
+        if (ex instanceof WebClientResponseException webEx) {
+            return "http-" + webEx.getStatusCode().value();
+        }
+        return "error";
+    }
+}
@@ -0,0 +1,75 @@
+package com.mylearning.productservice.tracing;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * {@code GET /actuator/traces?minDurationMs=&limit=} lists the slowest traces in the span
+ * buffer; {@code GET /actuator/traces/{traceId}} returns one trace's spans in start order.
+ * Only this service's spans are held, so the same trace id is looked up on each tier.
+ */
+@Component
+@Endpoint(id = "traces")
+public class TracesEndpoint {
+
+    private static final int DEFAULT_LIMIT = 20;
+
+    private final SpanRingBuffer buffer;
+
+    public TracesEndpoint(SpanRingBuffer buffer) {
+        this.buffer = buffer;
+    }
+
+    @ReadOperation
+    public List<TraceSummary> slowest(@Nullable Long minDurationMs, @Nullable Integer limit) {
+        long minMicros = minDurationMs != null ? minDurationMs * 1000 : 0;
+        Map<String, List<RecordedSpan>> byTrace = buffer.snapshot().stream()
+                .collect(Collectors.groupingBy(RecordedSpan::traceId));
+        return byTrace.values().stream()
+                .map(TraceSummary::of)
+                .filter(summary -> summary.durationMicros() >= minMicros)
+                .sorted(Comparator.comparingLong(TraceSummary::durationMicros).reversed())
+                .limit(limit != null ? limit : DEFAULT_LIMIT)
+                .toList();
+    }
+
+    @ReadOperation
+    public List<RecordedSpan> trace(@Selector String traceId) {
+        return buffer.snapshot().stream()
+                .filter(span -> span.traceId().equals(traceId))
+                .sorted(Comparator.comparingLong(RecordedSpan::startEpochMicros))
+                .toList();
+    }
+
+    /**
+     * One trace as seen by this service. The root is the local span without a local parent,
+     * usually the server span; its duration covers everything this tier spent on the request.
+     */
+    public record TraceSummary(String traceId,
+                               String rootName,
+                               String service,
+                               long startEpochMicros,
+                               long durationMicros,
+                               int spanCount,
+                               boolean error) {
+
+        static TraceSummary of(List<RecordedSpan> spans) {
+            RecordedSpan root = spans.stream()
+                    .filter(span -> spans.stream().noneMatch(other -> other.spanId().equals(span.parentId())))
+                    .min(Comparator.comparingLong(RecordedSpan::startEpochMicros))
+                    .orElse(spans.get(0));
+            long start = spans.stream().mapToLong(RecordedSpan::startEpochMicros).min().orElse(0);
+            long end = spans.stream().mapToLong(RecordedSpan::endEpochMicros).max().orElse(start);
+            return new TraceSummary(root.traceId(), root.name(), root.service(), start, end - start,
+                    spans.size(), spans.stream().anyMatch(RecordedSpan::error));
+        }
+    }
+}
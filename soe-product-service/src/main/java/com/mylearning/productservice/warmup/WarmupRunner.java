@@ -0,0 +1,152 @@
+package com.mylearning.productservice.warmup;
+
+import com.mylearning.productservice.dto.ProductDto;
+import com.mylearning.productservice.dto.QuoteLine;
+import com.mylearning.productservice.dto.QuoteRequest;
+import com.mylearning.productservice.service.ProductService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Warms this instance up before it reports ready. It opens pooled connections to the
+ * aggregator, then sends synthetic requests through this instance's own endpoints, which also
+ * fills the aggregator breaker's window. Runners run after the server has started but before
+ * readiness becomes ACCEPTING_TRAFFIC, so /actuator/health/readiness stays OUT_OF_SERVICE
+ * until warm-up ends or its budget runs out.
+ */
+@Component
+@Slf4j
+public class WarmupRunner implements ApplicationRunner {
+
+    private static final String UNKNOWN_ID = "warmup-unknown-id";
+    private static final int SAMPLE_IDS = 64;
+
+    private final ProductService productService;
+    private final WebClient aggregatorWebClient;
+    private final WebClient.Builder webClientBuilder;
+    private final Environment environment;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final Duration budget;
+    private final int requests;
+    private final int concurrency;
+    private final int connections;
+
+    public WarmupRunner(ProductService productService,
+                        WebClient aggregatorWebClient,
+                        WebClient.Builder webClientBuilder,
+                        Environment environment,
+                        MeterRegistry meterRegistry,
+                        @Value("${warmup.enabled:true}") boolean enabled,
+                        @Value("${warmup.budget:30s}") Duration budget,
+                        @Value("${warmup.requests:5000}") int requests,
+                        @Value("${warmup.concurrency:16}") int concurrency,
+                        @Value("${warmup.connections:8}") int connections) {
+        this.productService = productService;
+        this.aggregatorWebClient = aggregatorWebClient;
+        this.webClientBuilder = webClientBuilder;
+        this.environment = environment;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.budget = budget;
+        this.requests = requests;
+        this.concurrency = concurrency;
+        this.connections = connections;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        Integer port = environment.getProperty("local.server.port", Integer.class);
+        if (!enabled || port == null) {
+            log.info("Warm-up skipped ({})", enabled ? "no web server" : "disabled");
+            return;
+        }
+        long start = System.nanoTime();
+
+        List<String> ids = productService.getAllProducts()
+                .map(ProductDto::getId)
+                .take(SAMPLE_IDS)
+                .onErrorResume(ex -> Flux.empty())
+                .take(remaining(start))
+                .collectList()
+                .block();
+        if (ids == null || ids.isEmpty()) {
+            // Nothing useful to send, and failing calls would only open the breaker.
+            report(start, "downstream-unavailable", 0, 0);
+            return;
+        }
+
+        Flux.range(0, connections)
+                .flatMap(i -> aggregatorWebClient.get()
+                        .uri("/{id}/price", ids.get(0))
+                        .exchangeToMono(response -> response.releaseBody())
+                        .onErrorResume(ex -> Mono.empty()), connections)
+                .take(remaining(start))
+                .blockLast();
+
+        WebClient self = webClientBuilder.clone()
+                .baseUrl("http://localhost:" + port + "/api/products")
+                .build();
+        AtomicInteger completed = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        Flux.range(0, requests)
+                .flatMap(i -> request(self, ids, i)
+                        .doOnNext(status -> {
+                            completed.incrementAndGet();
+                            if (status >= 500) {
+                                failed.incrementAndGet();
+                            }
+                        })
+                        .onErrorResume(ex -> {
+                            completed.incrementAndGet();
+                            failed.incrementAndGet();
+                            return Mono.empty();
+                        }), concurrency)
+                .take(remaining(start))
+                .blockLast();
+
+        report(start, completed.get() < requests ? "budget-exhausted" : "completed", completed.get(), failed.get());
+    }
+
+    /** Mostly details and prices, some quotes, and a miss to warm the 404 path. */
+    private Mono<Integer> request(WebClient self, List<String> ids, int i) {
+        String id = ids.get(i % ids.size());
+        WebClient.RequestHeadersSpec<?> spec = switch (i % 8) {
+            case 0, 1, 2 -> self.get().uri("/{id}/details", id);
+            case 3, 4, 5 -> self.get().uri("/{id}/price", id);
+            case 6 -> self.post().uri("/quote").bodyValue(new QuoteRequest(List.of(
+                    new QuoteLine(id, 1), new QuoteLine(ids.get((i + 1) % ids.size()), 2))));
+            default -> self.get().uri("/{id}/details", UNKNOWN_ID);
+        };
+        return spec.exchangeToMono(response -> response.releaseBody().thenReturn(response.statusCode().value()));
+    }
+
+    private Duration remaining(long start) {
+        Duration left = budget.minusNanos(System.nanoTime() - start);
+        return left.isNegative() ? Duration.ZERO : left;
+    }
+
+    private void report(long start, String outcome, int completed, int failed) {
+        Duration took = Duration.ofNanos(System.nanoTime() - start);
+        Timer.builder("warmup.duration")
+                .description("Time spent warming up before accepting traffic")
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .record(took);
+        log.info("Warm-up {} in {} ms of a {} ms budget: {}/{} requests, {} failed",
+                outcome, took.toMillis(), budget.toMillis(), completed, requests, failed);
+    }
+}
@@ -0,0 +1,151 @@
+package com.mylearning.productservice.admission;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.scheduler.VirtualTimeScheduler;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Local overload test: drives the admission filter with an open-loop arrival rate against a
+ * simulated downstream whose latency grows once more than {@link #DOWNSTREAM_CAPACITY}
+ * requests are in flight, and counts goodput (2xx within {@link #SLA}) per second. Runs on
+ * virtual time, so the result does not depend on how busy the build machine is.
+ */
+class AdmissionControlOverloadTest {
+
+    private static final Duration SERVICE_TIME = Duration.ofMillis(10);
+    private static final int DOWNSTREAM_CAPACITY = 20;
+    private static final Duration SLA = Duration.ofMillis(100);
+    private static final Duration RUN = Duration.ofSeconds(2);
+    private static final Duration TICK = Duration.ofMillis(10);
+    private static final Duration QUEUE_WAIT = Duration.ofMillis(20);
+
+    private VirtualTimeScheduler scheduler;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void useVirtualTime() {
+        scheduler = VirtualTimeScheduler.getOrSet();
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void resetTime() {
+        VirtualTimeScheduler.reset();
+    }
+
+    @Test
+    void goodputStaysFlatPastSaturation() {
+        // Downstream saturates at DOWNSTREAM_CAPACITY / SERVICE_TIME = 2000 req/s.
+        double atSaturation = goodput(filter(true, QUEUE_WAIT), 2_000);
+        double overloaded = goodput(filter(true, QUEUE_WAIT), 8_000);
+        double unprotected = goodput(filter(false, QUEUE_WAIT), 8_000);
+
+        assertThat(overloaded)
+                .as("goodput req/s: saturation=%.0f, 4x with admission=%.0f, 4x without=%.0f",
+                        atSaturation, overloaded, unprotected)
+                .isGreaterThan(atSaturation * 0.7)
+                .isGreaterThan(unprotected);
+    }
+
+    @Test
+    void requestsOverFullQueueAreShedImmediately() {
+        // Long enough that no queued request times out while the queue is being filled.
+        AdmissionControlFilter filter = filter(true, Duration.ofSeconds(10));
+        WebFilterChain never = exchange -> Mono.never();
+
+        // Bulk class: DOWNSTREAM_CAPACITY / 4 in flight, 2 * DOWNSTREAM_CAPACITY queued.
+        int inFlightAndQueued = DOWNSTREAM_CAPACITY / 4 + 2 * DOWNSTREAM_CAPACITY;
+        for (int i = 0; i < inFlightAndQueued; i++) {
+            filter.filter(exchange("/api/products"), never).subscribe();
+        }
+        MockServerWebExchange shed = exchange("/api/products");
+        filter.filter(shed, never).subscribe();
+
+        assertThat(shed.getResponse().getStatusCode()).isEqualTo(HttpStatusCode.valueOf(503));
+        assertThat(shed.getResponse().getHeaders().getFirst("Retry-After")).isEqualTo("1");
+        assertThat(shedCount("queue-full")).isEqualTo(1);
+        assertThat(shedCount("queue-timeout")).isZero();
+    }
+
+    @Test
+    void queuedRequestIsShedWhenItsWaitRunsOut() {
+        AdmissionControlFilter filter = filter(true, QUEUE_WAIT);
+        WebFilterChain never = exchange -> Mono.never();
+
+        for (int i = 0; i < DOWNSTREAM_CAPACITY / 4; i++) {
+            filter.filter(exchange("/api/products"), never).subscribe();
+        }
+        MockServerWebExchange queued = exchange("/api/products");
+        filter.filter(queued, never).subscribe();
+        assertThat(queued.getResponse().getStatusCode()).isNull();
+
+        scheduler.advanceTimeBy(QUEUE_WAIT);
+
+        assertThat(queued.getResponse().getStatusCode()).isEqualTo(HttpStatusCode.valueOf(503));
+        assertThat(queued.getResponse().getHeaders().getFirst("Retry-After")).isEqualTo("1");
+        assertThat(shedCount("queue-timeout")).isEqualTo(1);
+        assertThat(shedCount("queue-full")).isZero();
+    }
+
+    private AdmissionControlFilter filter(boolean enabled, Duration maxQueueWait) {
+        return new AdmissionControlFilter(enabled, DOWNSTREAM_CAPACITY, DOWNSTREAM_CAPACITY, DOWNSTREAM_CAPACITY,
+                DOWNSTREAM_CAPACITY / 4, 2 * DOWNSTREAM_CAPACITY, maxQueueWait, Duration.ofMillis(200),
+                Duration.ofSeconds(1), new EventLoopLagMonitor(Duration.ofMillis(50), false), meterRegistry);
+    }
+
+    private double shedCount(String reason) {
+        return meterRegistry.get("admission.shed").tag("route", "bulk").tag("reason", reason).counter().count();
+    }
+
+    private double goodput(AdmissionControlFilter filter, int ratePerSecond) {
+        AtomicInteger active = new AtomicInteger();
+        WebFilterChain downstream = exchange -> Mono.defer(() -> {
+            int concurrent = active.incrementAndGet();
+            long nanos = SERVICE_TIME.toNanos() * Math.max(1, concurrent / DOWNSTREAM_CAPACITY);
+            return Mono.delay(Duration.ofNanos(nanos)).then();
+        }).doFinally(signal -> active.decrementAndGet());
+
+        AtomicInteger good = new AtomicInteger();
+        int perTick = (int) (ratePerSecond * TICK.toMillis() / 1000);
+        Disposable run = Flux.interval(TICK)
+                .take(RUN.toMillis() / TICK.toMillis())
+                .flatMap(tick -> Flux.range(0, perTick), Integer.MAX_VALUE)
+                .flatMap(i -> {
+                    MockServerWebExchange exchange = exchange("/api/products/101/price");
+                    long start = scheduler.now(TimeUnit.NANOSECONDS);
+                    return filter.filter(exchange, downstream).then(Mono.fromRunnable(() -> {
+                        HttpStatusCode status = exchange.getResponse().getStatusCode();
+                        boolean ok = status == null || status.is2xxSuccessful();
+                        if (ok && scheduler.now(TimeUnit.NANOSECONDS) - start <= SLA.toNanos()) {
+                            good.incrementAndGet();
+                        }
+                    }));
+                }, Integer.MAX_VALUE)
+                .subscribe();
+
+        // Run the arrivals, then let everything still in flight finish.
+        scheduler.advanceTimeBy(RUN.multipliedBy(10));
+        assertThat(run.isDisposed()).isTrue();
+
+        return good.get() / (RUN.toMillis() / 1000.0);
+    }
+
+    private static MockServerWebExchange exchange(String path) {
+        return MockServerWebExchange.from(MockServerHttpRequest.get(path));
+    }
+}
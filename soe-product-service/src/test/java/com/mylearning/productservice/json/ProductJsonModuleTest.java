@@ -0,0 +1,111 @@
+package com.mylearning.productservice.json;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import com.mylearning.productservice.dto.ApiError;
+import com.mylearning.productservice.dto.ApiResponse;
+import com.mylearning.productservice.dto.ProductDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/** The hand-written codecs must be indistinguishable from the reflective ones on the wire. */
+class ProductJsonModuleTest {
+
+    private static final String AGGREGATOR_PRODUCT = """
+            {"apiSuccess":true,"timeStamp":"2025-03-01T10:15:30.123Z",
+             "data":{"id":"101","name":"Wireless Mouse","description":null,"price":499.0},"errors":null}""";
+    private static final String AGGREGATOR_LIST = """
+            {"apiSuccess":true,"timeStamp":"2025-03-01T10:15:30Z",
+             "data":[{"id":"101","name":"Wireless Mouse","description":null,"price":499.0},
+                     {"id":"102","name":"Keyboard","description":"Mechanical","price":1299.0}],"errors":null}""";
+    private static final String AGGREGATOR_PRICE = """
+            {"apiSuccess":true,"timeStamp":"2025-03-01T10:15:30Z","data":499.0,"errors":null}""";
+    private static final String AGGREGATOR_ERROR = """
+            {"apiSuccess":false,"timeStamp":"2025-03-01T10:15:30Z","data":null,
+             "errors":[{"code":"DOWNSTREAM_ERROR","message":"Failed to fetch product 101","fieldErrors":null}]}""";
+
+    private final ObjectMapper reflective = mapper(false);
+    private final ObjectMapper tuned = mapper(true);
+
+    private static ObjectMapper mapper(boolean withModule) {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        if (withModule) {
+            builder.modulesToInstall(new ProductJsonModule());
+        }
+        return builder.build();
+    }
+
+    @Test
+    void envelopeIsWrittenAsTheReflectiveSerializerWritesIt() throws Exception {
+        ProductDto product = new ProductDto("101", "Wireless \"Mouse\"", 499.5);
+        List<Object> payloads = List.of(product, List.of(product, new ProductDto("102", "Keyboard", null)), 499.0);
+        List<Instant> instants = List.of(
+                Instant.parse("2025-03-01T10:15:30Z"),
+                Instant.parse("2025-03-01T10:15:30.120Z"),
+                Instant.parse("2025-03-01T10:15:30.123450Z"),
+                Instant.parse("2025-03-01T10:15:30.000000007Z"),
+                Instant.now());
+
+        for (Instant instant : instants) {
+            for (Object data : payloads) {
+                ApiResponse<Object> response = ApiResponse.builder()
+                        .timestamp(instant).status(200).path("/api/products/101/details").message("ok").data(data)
+                        .build();
+                assertThat(tuned.writeValueAsString(response)).isEqualTo(reflective.writeValueAsString(response));
+            }
+        }
+        ApiResponse<Object> error = ApiResponse.builder()
+                .status(400).errors(List.of(new ApiError("VALIDATION", "bad", null))).fieldErrors(Map.of("id", "blank"))
+                .build();
+        assertThat(tuned.writeValueAsString(error)).isEqualTo(reflective.writeValueAsString(error));
+    }
+
+    @Test
+    void aggregatorEnvelopesAreReadAsTheReflectiveDeserializerReadsThem() throws Exception {
+        assertSameRead(AGGREGATOR_PRODUCT, new TypeReference<ApiResponse<ProductDto>>() {});
+        assertSameRead(AGGREGATOR_LIST, new TypeReference<ApiResponse<List<ProductDto>>>() {});
+        assertSameRead(AGGREGATOR_PRICE, new TypeReference<ApiResponse<Double>>() {});
+        assertSameRead(AGGREGATOR_ERROR, new TypeReference<ApiResponse<Object>>() {});
+
+        ApiResponse<ProductDto> product = tuned.readValue(AGGREGATOR_PRODUCT, new TypeReference<>() {});
+        assertThat(product.getData()).isEqualTo(new ProductDto("101", "Wireless Mouse", 499.0));
+    }
+
+    @Test
+    void ownEnvelopeRoundTrips() throws Exception {
+        ApiResponse<ProductDto> response = ApiResponse.<ProductDto>builder()
+                .timestamp(Instant.parse("2025-03-01T10:15:30.123456789Z")).status(200).path("/p").message("m")
+                .data(new ProductDto("101", "Wireless Mouse", 499.0))
+                .build();
+        String json = tuned.writeValueAsString(response);
+
+        assertThat(tuned.readValue(json, new TypeReference<ApiResponse<ProductDto>>() {})).isEqualTo(response);
+    }
+
+    @Test
+    void malformedPricesAreRejectedLikeTheReflectiveDeserializerRejectsThem() {
+        for (String price : List.of("\"abc\"", "true", "{\"amount\":1}", "[499]")) {
+            String json = "{\"status\":200,\"data\":{\"id\":\"101\",\"price\":" + price + "}}";
+            TypeReference<ApiResponse<ProductDto>> type = new TypeReference<>() {};
+
+            assertThatThrownBy(() -> reflective.readValue(json, type)).as(json)
+                    .isInstanceOf(MismatchedInputException.class);
+            assertThatThrownBy(() -> tuned.readValue(json, type)).as(json)
+                    .isInstanceOf(MismatchedInputException.class);
+        }
+    }
+
+    private <T> void assertSameRead(String json, TypeReference<T> type) throws Exception {
+        assertThat(tuned.readValue(json, type)).isEqualTo(reflective.readValue(json, type));
+    }
+}
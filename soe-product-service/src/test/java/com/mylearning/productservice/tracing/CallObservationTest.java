@@ -0,0 +1,120 @@
+package com.mylearning.productservice.tracing;
+
+import com.mylearning.productservice.exception.DeadlineExceededException;
+import com.mylearning.productservice.exception.ProductNotFoundException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.common.KeyValue;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationHandler;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.observation.contextpropagation.ObservationThreadLocalAccessor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CallObservationTest {
+
+    private final List<Observation.Context> stopped = new CopyOnWriteArrayList<>();
+    private final ObservationRegistry registry = ObservationRegistry.create();
+
+    @BeforeEach
+    void recordStoppedObservations() {
+        registry.observationConfig().observationHandler(new ObservationHandler<>() {
+            @Override
+            public void onStop(Observation.Context context) {
+                stopped.add(context);
+            }
+
+            @Override
+            public boolean supportsContext(Observation.Context context) {
+                return true;
+            }
+        });
+    }
+
+    @Test
+    void successfulCallIsTaggedSuccess() {
+        assertThat(CallObservation.observe(Mono.just(1), start(Context.empty())).block()).isEqualTo(1);
+
+        assertThat(outcome()).isEqualTo("success");
+        assertThat(single().getError()).isNull();
+    }
+
+    @Test
+    void notFoundIsTaggedButNotRecordedAsAnError() {
+        Mono<Object> call = Mono.error(new ProductNotFoundException("no 999"));
+
+        assertThatThrownBy(() -> CallObservation.observe(call, start(Context.empty())).block())
+                .isInstanceOf(ProductNotFoundException.class);
+
+        assertThat(outcome()).isEqualTo("not-found");
+        assertThat(single().getError()).isNull();
+    }
+
+    @Test
+    void callTheBreakerRefusedIsTaggedRejected() {
+        CallNotPermittedException refused = CallNotPermittedException.createCallNotPermittedException(
+                CircuitBreaker.ofDefaults("productServiceCB"));
+
+        assertThatThrownBy(() -> CallObservation.observe(Flux.error(refused), start(Context.empty())).blockLast())
+                .isSameAs(refused);
+
+        assertThat(outcome()).isEqualTo("rejected");
+        assertThat(single().getError()).isSameAs(refused);
+    }
+
+    @Test
+    void cancelledCallIsTaggedCancelled() {
+        Disposable subscription = CallObservation.observe(Mono.never(), start(Context.empty())).subscribe();
+
+        subscription.dispose();
+
+        assertThat(outcome()).isEqualTo("cancelled");
+    }
+
+    @Test
+    void failuresAreTaggedByKind() {
+        assertThat(CallObservation.outcomeOf(new DeadlineExceededException("late"))).isEqualTo("deadline");
+        assertThat(CallObservation.outcomeOf(WebClientResponseException.create(503, "Unavailable", null, null, null)))
+                .isEqualTo("http-503");
+        assertThat(CallObservation.outcomeOf(new IllegalStateException())).isEqualTo("error");
+    }
+
+    @Test
+    void observationIsAChildOfTheCallersAndVisibleToTheCall() {
+        Observation parent = Observation.start("http.server.requests", registry);
+        Observation observation = start(Context.of(ObservationThreadLocalAccessor.KEY, parent));
+
+        Object seen = CallObservation.observe(
+                Mono.deferContextual(context -> Mono.just(context.get(ObservationThreadLocalAccessor.KEY))),
+                observation).block();
+
+        assertThat(seen).isSameAs(observation);
+        assertThat(single().getParentObservation()).isSameAs(parent);
+    }
+
+    private Observation start(Context context) {
+        return CallObservation.start("aggregator.call", registry, context);
+    }
+
+    private Observation.Context single() {
+        assertThat(stopped).hasSize(1);
+        return stopped.get(0);
+    }
+
+    private String outcome() {
+        KeyValue outcome = single().getLowCardinalityKeyValue("outcome");
+        return outcome == null ? null : outcome.getValue();
+    }
+}
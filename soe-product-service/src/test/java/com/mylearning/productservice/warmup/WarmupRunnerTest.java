@@ -0,0 +1,110 @@
+package com.mylearning.productservice.warmup;
+
+import com.mylearning.productservice.ProductServiceApplication;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerInitializedEvent;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Starts the service on a random port on another thread and polls its readiness probe from
+ * outside while the warm-up is still running. The aggregator is a local stand-in that lists
+ * the catalog and then never answers a lookup, or nothing listens at all.
+ */
+class WarmupRunnerTest {
+
+    private final CompletableFuture<Integer> port = new CompletableFuture<>();
+    private CompletableFuture<ConfigurableApplicationContext> started;
+    private DisposableServer aggregator;
+
+    @AfterEach
+    void stop() throws Exception {
+        started.get(60, TimeUnit.SECONDS).close();
+        if (aggregator != null) {
+            aggregator.disposeNow();
+        }
+    }
+
+    @Test
+    void readinessStaysOutOfServiceUntilTheBudgetRunsOut() throws Exception {
+        aggregator = HttpServer.create()
+                .port(0)
+                .route(routes -> routes
+                        .get("/api/aggregator/products", (request, response) -> response
+                                .header("Content-Type", "application/json")
+                                .sendString(Mono.just("{\"data\":[{\"id\":\"101\",\"name\":\"Mouse\",\"price\":499.0}]}"))
+                                .then())
+                        .get("/api/aggregator/products/{id}/price", (request, response) -> Mono.never())
+                        .get("/api/aggregator/products/{id}", (request, response) -> Mono.never()))
+                .bindNow();
+        long start = System.nanoTime();
+        start("http://localhost:" + aggregator.port() + "/api/aggregator/products", "--warmup.budget=3s");
+        WebClient client = WebClient.create("http://localhost:" + port.get(60, TimeUnit.SECONDS));
+
+        // The server is up and the runner is about to start; it cannot be done for another 3s.
+        long pollUntil = System.nanoTime() + Duration.ofSeconds(2).toNanos();
+        while (System.nanoTime() < pollUntil) {
+            assertThat(started).as("started before the warm-up budget ran out").isNotDone();
+            assertThat(readiness(client)).isEqualTo(503);
+            Thread.sleep(100);
+        }
+
+        ConfigurableApplicationContext context = started.get(60, TimeUnit.SECONDS);
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isGreaterThanOrEqualTo(Duration.ofSeconds(3));
+        assertThat(readiness(client)).isEqualTo(200);
+        assertThat(warmups(context, "budget-exhausted")).isEqualTo(1);
+    }
+
+    @Test
+    void unavailableAggregatorEndsTheWarmUpEarly() throws Exception {
+        long start = System.nanoTime();
+        // Nothing listens on port 1.
+        start("http://localhost:1/api/aggregator/products", "--warmup.budget=60s");
+
+        ConfigurableApplicationContext context = started.get(60, TimeUnit.SECONDS);
+
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(30));
+        assertThat(readiness(WebClient.create("http://localhost:" + port.get()))).isEqualTo(200);
+        assertThat(warmups(context, "downstream-unavailable")).isEqualTo(1);
+    }
+
+    private void start(String aggregatorUrl, String... args) {
+        String[] all = new String[args.length + 3];
+        all[0] = "--server.port=0";
+        all[1] = "--aggregator.base-url=" + aggregatorUrl;
+        all[2] = "--aggregator.price-stream.enabled=false";
+        System.arraycopy(args, 0, all, 3, args.length);
+        started = CompletableFuture.supplyAsync(() -> new SpringApplicationBuilder(ProductServiceApplication.class)
+                .listeners((ApplicationListener<ApplicationEvent>) event -> {
+                    if (event instanceof WebServerInitializedEvent initialized) {
+                        port.complete(initialized.getWebServer().getPort());
+                    }
+                })
+                .run(all));
+    }
+
+    private static int readiness(WebClient client) {
+        return client.get().uri("/actuator/health/readiness")
+                .exchangeToMono(response -> response.releaseBody().thenReturn(response.statusCode().value()))
+                .onErrorResume(ex -> Mono.just(-1))
+                .block(Duration.ofSeconds(5));
+    }
+
+    private static long warmups(ConfigurableApplicationContext context, String outcome) {
+        return context.getBean(MeterRegistry.class).get("warmup.duration").tag("outcome", outcome).timer().count();
+    }
+}